@@ -0,0 +1,58 @@
+package performative;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Generates save files for the benchmarks.
+ * Tasks cycle through todos, deadlines and events, and every other task is complete.
+ */
+public class BenchmarkData {
+    private static final int TASK_TYPE_COUNT = 3;
+
+    /**
+     * Returns a new temporary save file holding the given number of generated tasks.
+     * The file is deleted when the JVM exits.
+     *
+     * @param taskCount The number of tasks to generate.
+     * @return The generated save file.
+     * @throws IOException If the save file cannot be written.
+     */
+    public static File createSaveFile(int taskCount) throws IOException {
+        File saveFile = Files.createTempFile("performative-bench", ".txt").toFile();
+        saveFile.deleteOnExit();
+        new File(saveFile.getPath() + ".log").deleteOnExit();
+        writeSaveFile(saveFile, taskCount);
+        return saveFile;
+    }
+
+    /**
+     * Writes the given number of generated tasks to the save file, replacing its contents.
+     *
+     * @param saveFile The save file to write.
+     * @param taskCount The number of tasks to generate.
+     * @throws IOException If the save file cannot be written.
+     */
+    public static void writeSaveFile(File saveFile, int taskCount) throws IOException {
+        BufferedWriter writer = new BufferedWriter(new FileWriter(saveFile));
+        for (int i = 1; i <= taskCount; i++) {
+            String status = i % 2 == 0 ? "Complete" : "Incomplete";
+            switch (i % TASK_TYPE_COUNT) {
+            case 0:
+                writer.write("Todo; " + status + "; read chapter " + i + "; " + i);
+                break;
+            case 1:
+                writer.write("Deadline; " + status + "; submit report " + i + "; 2025-03-14 2359; " + i);
+                break;
+            default:
+                writer.write("Event; " + status + "; team sync " + i + "; 2025-03-14 0900; 2025-03-14 1000; " + i);
+                break;
+            }
+            writer.newLine();
+        }
+        writer.close();
+    }
+}
@@ -0,0 +1,81 @@
+package performative;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures finding tasks by keyword, and searching for them by similarity, in a large task list,
+ * for keywords that match and keywords that do not.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class FindBenchmark {
+    private static final int TASK_COUNT = 100_000;
+
+    @Param({"chapter 4242", "matcha"})
+    private String keyword;
+
+    private Performative performative;
+
+    /**
+     * Loads the task list and waits for loading and the search index to finish.
+     *
+     * @throws IOException If the save file cannot be written.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        File saveFile = BenchmarkData.createSaveFile(TASK_COUNT);
+        performative = new Performative(saveFile.getPath());
+        performative.getWelcomeMessage();
+        performative.awaitSearchIndex();
+    }
+
+    /**
+     * Closes the application, stopping its background threads.
+     *
+     * @throws IOException If a queued change cannot be written.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        performative.close();
+    }
+
+    /**
+     * Finds the tasks containing the keyword.
+     *
+     * @return The search results message.
+     */
+    @Benchmark
+    public String findTasks() {
+        return performative.findTasks(keyword);
+    }
+
+    /**
+     * Searches for the tasks most similar to the keyword.
+     *
+     * @return The search results message.
+     */
+    @Benchmark
+    public String searchTasks() {
+        return performative.searchTasks(keyword);
+    }
+}
@@ -0,0 +1,49 @@
+package performative.parser;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import performative.exception.PerformativeException;
+import performative.tasks.Task;
+
+/**
+ * Measures parsing deadlines and events with each supported date form.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParseTaskBenchmark {
+    @Param({
+        "deadline submit report /by 2025-03-14 2359",
+        "deadline submit report /by Friday",
+        "deadline submit report /by Fri 1900",
+        "event team sync /from 2025-03-14 0900 /to 2025-03-14 1000",
+        "event team sync /from Mon /to Tue",
+        "event team sync /from Mon 0900 /to Mon 1000"
+    })
+    private String input;
+
+    /**
+     * Parses the input into a task.
+     *
+     * @return The parsed task.
+     * @throws PerformativeException If the input is invalid.
+     */
+    @Benchmark
+    public Task parseTask() throws PerformativeException {
+        return Parser.parseTask(input);
+    }
+}
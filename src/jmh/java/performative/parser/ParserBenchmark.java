@@ -0,0 +1,88 @@
+package performative.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import performative.BenchmarkData;
+import performative.Performative;
+import performative.ui.Ui;
+
+/**
+ * Measures parsing and executing each type of command against a task list of a thousand tasks.
+ * The task list is reloaded from a fresh save file for every iteration, since adds grow it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParserBenchmark {
+    private static final int TASK_COUNT = 1000;
+
+    @Param({
+        "list",
+        "list 2",
+        "mark 500",
+        "unmark #500",
+        "find chapter 99",
+        "todo read chapter 1001",
+        "deadline submit report /by 2025-03-14 2359",
+        "event team sync /from 2025-03-14 0900 /to 2025-03-14 1000",
+        "dance"
+    })
+    private String input;
+
+    private Performative performative;
+    private Ui ui;
+
+    /**
+     * Loads a fresh task list and waits for loading to finish.
+     *
+     * @throws IOException If the save file cannot be written.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        File saveFile = BenchmarkData.createSaveFile(TASK_COUNT);
+        performative = new Performative(saveFile.getPath());
+        ui = new Ui();
+        performative.getWelcomeMessage();
+        // Any command other than an add waits for the task list to load
+        performative.getResponse("list");
+    }
+
+    /**
+     * Closes the application, stopping its background threads.
+     *
+     * @throws IOException If a queued change cannot be written.
+     */
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        performative.close();
+    }
+
+    /**
+     * Parses and executes the command.
+     *
+     * @return The response to the command.
+     */
+    @Benchmark
+    public String parseAndExecute() {
+        return Parser.parseAndExecute(input, performative, ui);
+    }
+}
@@ -0,0 +1,79 @@
+package performative.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import performative.BenchmarkData;
+import performative.tasks.Task;
+
+/**
+ * Compares sequential and parallel loading of the text save file across task counts,
+ * to find the file size above which the parallel load pays for splitting the file.
+ * Generated tasks take about 60 bytes each, so 10000 tasks is roughly 600 KB.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ParallelLoadBenchmark {
+    @Param({"1000", "3000", "10000", "30000", "100000", "1000000"})
+    private int taskCount;
+
+    @Param({"false", "true"})
+    private boolean isParallel;
+
+    private Storage storage;
+
+    /**
+     * Generates the save file and rewrites it as a checksummed snapshot.
+     * The rewritten snapshot is known to be good, so neither path spends time checking its checksums.
+     *
+     * @throws IOException If the save file cannot be written.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        File saveFile = BenchmarkData.createSaveFile(taskCount);
+        new File(saveFile.getPath() + ".good").deleteOnExit();
+        storage = new Storage(saveFile.getPath(), Durability.FSYNC);
+        storage.saveTasks(storage.loadTasks());
+    }
+
+    /**
+     * Closes the storage, stopping its background threads.
+     *
+     * @throws IOException If a queued change cannot be written.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        storage.close();
+    }
+
+    /**
+     * Loads every task from the save file, sequentially or in parallel.
+     *
+     * @return The loaded tasks.
+     * @throws IOException If the save file cannot be read.
+     */
+    @Benchmark
+    public List<Task> loadTasks() throws IOException {
+        return storage.loadTasks(isParallel);
+    }
+}
@@ -0,0 +1,98 @@
+package performative.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import performative.BenchmarkData;
+import performative.tasks.TaskList;
+
+/**
+ * Measures startup as the application does it, loading the save file and building the task list from it,
+ * for the text and binary save formats.
+ * Building the task list reads no task, so commands can run as soon as the file is loaded.
+ * Its indexes are then built in the background, which is measured separately.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class StartupBenchmark {
+    @Param({"100000", "1000000"})
+    private int taskCount;
+
+    @Param({"text", "binary"})
+    private String format;
+
+    private TaskStorage storage;
+
+    /**
+     * Generates the text save file, and converts it to the binary format if that is the format being measured.
+     *
+     * @throws IOException If the save files cannot be written.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        File textFile = BenchmarkData.createSaveFile(taskCount);
+        if (format.equals("binary")) {
+            String binaryPath = textFile.getPath() + ".bin";
+            new File(binaryPath).deleteOnExit();
+            new File(binaryPath + ".strings").deleteOnExit();
+            BinaryStorage.importText(textFile.getPath(), binaryPath);
+            storage = new BinaryStorage(binaryPath);
+        } else {
+            storage = new Storage(textFile.getPath());
+        }
+    }
+
+    /**
+     * Closes the storage, stopping its background threads.
+     *
+     * @throws IOException If a queued change cannot be written.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        storage.close();
+    }
+
+    /**
+     * Loads the save file and builds the task list from it.
+     *
+     * @return The loaded task list.
+     * @throws IOException If the save file cannot be read.
+     */
+    @Benchmark
+    public TaskList loadTaskList() throws IOException {
+        return new TaskList(storage.loadTasks());
+    }
+
+    /**
+     * Loads the save file, builds the task list from it, and builds its indexes,
+     * as the application does in the background after startup.
+     *
+     * @return The loaded and indexed task list.
+     * @throws IOException If the save file cannot be read.
+     */
+    @Benchmark
+    public TaskList loadAndIndexTaskList() throws IOException {
+        TaskList taskList = new TaskList(storage.loadTasks());
+        taskList.buildIndexes();
+        return taskList;
+    }
+}
@@ -0,0 +1,84 @@
+package performative.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import performative.BenchmarkData;
+import performative.tasks.Task;
+
+/**
+ * Measures loading and saving the text save file at different task counts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class StorageBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int taskCount;
+
+    private Storage storage;
+    private List<Task> tasks;
+
+    /**
+     * Generates the save file and loads it once, so that save benchmarks have tasks to write.
+     *
+     * @throws IOException If the save file cannot be written or read.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        File saveFile = BenchmarkData.createSaveFile(taskCount);
+        // One storage per trial, since each storage starts its own journal writer thread
+        storage = new Storage(saveFile.getPath(), Durability.FSYNC);
+        tasks = storage.loadTasks();
+    }
+
+    /**
+     * Closes the storage, stopping its background threads.
+     *
+     * @throws IOException If a queued change cannot be written.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        storage.close();
+    }
+
+    /**
+     * Loads every task from the save file.
+     *
+     * @return The loaded tasks.
+     * @throws IOException If the save file cannot be read.
+     */
+    @Benchmark
+    public List<Task> loadTasks() throws IOException {
+        return storage.loadTasks();
+    }
+
+    /**
+     * Rewrites the save file with every task.
+     *
+     * @throws IOException If the save file cannot be written.
+     */
+    @Benchmark
+    public void saveTasks() throws IOException {
+        storage.saveTasks(tasks);
+    }
+}
@@ -0,0 +1,74 @@
+package performative.tasks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures deleting a task from the head, middle and tail of a large task list.
+ * Each deleted task is added back at the end so that the list keeps its size,
+ * so every score also includes the cost of one add.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TaskListBenchmark {
+    private static final int TASK_COUNT = 100_000;
+
+    @Param({"head", "middle", "tail"})
+    private String position;
+
+    private TaskList taskList;
+    private int taskNumber;
+
+    /**
+     * Builds and indexes a task list of todos and picks the task number to delete.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= TASK_COUNT; i++) {
+            tasks.add(new Todo("read chapter " + i));
+        }
+        taskList = new TaskList(tasks);
+        taskList.buildIndexes();
+        switch (position) {
+        case "head":
+            taskNumber = 1;
+            break;
+        case "middle":
+            taskNumber = TASK_COUNT / 2;
+            break;
+        default:
+            taskNumber = TASK_COUNT;
+            break;
+        }
+    }
+
+    /**
+     * Deletes the task at the chosen position, then adds it back at the end.
+     *
+     * @return The deleted task.
+     */
+    @Benchmark
+    public Task deleteTask() {
+        Task deletedTask = taskList.deleteTask(taskNumber);
+        taskList.addTask(deletedTask);
+        return deletedTask;
+    }
+}
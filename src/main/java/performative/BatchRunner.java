@@ -0,0 +1,144 @@
+package performative;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+
+import performative.metrics.Metrics;
+
+/**
+ * Runs a script of commands without the GUI, one command per line, from a file or standard input.
+ * Changes are saved once at the end of the batch, or every given number of commands,
+ * rather than after every command. Responses go to standard output and throughput to standard error.
+ *
+ * <p>Usage: {@code BatchRunner [--save-file <path>] [--save-every <n>] [--quiet] [command-file]}
+ */
+public class BatchRunner {
+    private static final String DEFAULT_SAVE_FILE = "./data/savefile.txt";
+    private static final int SAVE_ONLY_AT_END = 0;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final Performative performative;
+    private final int saveInterval;
+    private final boolean isQuiet;
+
+    /**
+     * Constructs a batch runner that executes commands on the given application instance.
+     *
+     * @param performative The application instance to execute commands on.
+     * @param saveInterval The number of commands between saves, or 0 to save only at the end.
+     * @param isQuiet True to leave out the response to each command.
+     */
+    public BatchRunner(Performative performative, int saveInterval, boolean isQuiet) {
+        assert saveInterval >= 0 : "Save interval cannot be negative";
+        this.performative = performative;
+        this.saveInterval = saveInterval;
+        this.isQuiet = isQuiet;
+    }
+
+    /**
+     * Runs the batch described by the command-line arguments.
+     *
+     * @param args Command-line options, optionally followed by the command file to read instead of standard input.
+     */
+    public static void main(String[] args) {
+        String saveFile = DEFAULT_SAVE_FILE;
+        int saveInterval = SAVE_ONLY_AT_END;
+        boolean isQuiet = false;
+        String commandFile = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                case "--save-file":
+                    saveFile = args[++i];
+                    break;
+                case "--save-every":
+                    saveInterval = Integer.parseInt(args[++i]);
+                    break;
+                case "--quiet":
+                    isQuiet = true;
+                    break;
+                default:
+                    commandFile = args[i];
+                    break;
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            System.err.println("Usage: BatchRunner [--save-file <path>] [--save-every <n>] [--quiet] [command-file]");
+            System.exit(1);
+        }
+
+        Metrics.startDumpingIfConfigured();
+        try {
+            Reader input = commandFile == null ? new InputStreamReader(System.in) : new FileReader(commandFile);
+            try (Performative performative = new Performative(saveFile)) {
+                BatchRunner runner = new BatchRunner(performative, Math.max(saveInterval, 0), isQuiet);
+                runner.run(new BufferedReader(input), new BufferedWriter(new OutputStreamWriter(System.out)));
+            }
+        } catch (IOException e) {
+            System.err.println("Batch failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Executes every command read from the input, until the input ends or a bye command is executed,
+     * and saves the changes in batches.
+     *
+     * @param input Reader supplying one command per line.
+     * @param output Writer receiving the response to each command.
+     * @throws IOException If the commands cannot be read, the responses cannot be written,
+     *     or the changes cannot be saved.
+     */
+    public void run(BufferedReader input, BufferedWriter output) throws IOException {
+        performative.setPersistenceDeferred(true);
+        performative.getWelcomeMessage();
+
+        long batchStart = System.nanoTime();
+        long runStart = batchStart;
+        int batchCount = 0;
+        int commandCount = 0;
+        String line = input.readLine();
+        while (line != null) {
+            String command = line.trim();
+            if (!command.isEmpty()) {
+                if (isQuiet) {
+                    performative.getResponse(command);
+                } else {
+                    performative.writeResponse(command, output);
+                    output.newLine();
+                }
+                commandCount++;
+                batchCount++;
+                if (saveInterval != SAVE_ONLY_AT_END && batchCount == saveInterval) {
+                    performative.saveChanges();
+                    reportThroughput("Batch", batchCount, batchStart);
+                    batchStart = System.nanoTime();
+                    batchCount = 0;
+                }
+                if (command.equals("bye")) {
+                    break;
+                }
+            }
+            line = input.readLine();
+        }
+        input.close();
+        output.flush();
+
+        performative.setPersistenceDeferred(false);
+        if (batchCount > 0) {
+            reportThroughput("Batch", batchCount, batchStart);
+        }
+        reportThroughput("Total", commandCount, runStart);
+    }
+
+    private void reportThroughput(String label, int commandCount, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / NANOS_PER_SECOND;
+        System.err.printf("%s: %d commands in %.3f s (%.0f commands/s), saved%n",
+                label, commandCount, seconds, seconds > 0 ? commandCount / seconds : 0.0);
+    }
+}
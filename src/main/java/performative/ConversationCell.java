@@ -0,0 +1,38 @@
+package performative;
+
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+
+/**
+ * Represents a reusable list cell that renders conversation messages in a dialog box.
+ * The list view only creates enough cells to fill the screen, so the dialog box FXML is
+ * loaded once per cell rather than once per message.
+ */
+public class ConversationCell extends ListCell<DialogMessage> {
+    private static final double SCROLL_BAR_ALLOWANCE = 20.0;
+
+    private final DialogBox dialogBox = new DialogBox();
+
+    /**
+     * Constructs a cell whose dialog box wraps its text to the width of the list view.
+     *
+     * @param listView The list view the cell belongs to.
+     */
+    public ConversationCell(ListView<DialogMessage> listView) {
+        dialogBox.prefWidthProperty().bind(listView.widthProperty().subtract(SCROLL_BAR_ALLOWANCE));
+        dialogBox.maxWidthProperty().bind(listView.widthProperty().subtract(SCROLL_BAR_ALLOWANCE));
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+    }
+
+    @Override
+    protected void updateItem(DialogMessage message, boolean isEmpty) {
+        super.updateItem(message, isEmpty);
+        if (isEmpty || message == null) {
+            setGraphic(null);
+            return;
+        }
+        dialogBox.show(message);
+        setGraphic(dialogBox);
+    }
+}
@@ -10,13 +10,13 @@ import javafx.fxml.FXMLLoader;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 
 /**
  * Represents a dialog box consisting of an ImageView to represent the speaker's face
  * and a label containing text from the speaker.
+ * A dialog box is reused for different messages as its conversation cell scrolls.
  */
 public class DialogBox extends HBox {
     @FXML
@@ -24,7 +24,10 @@ public class DialogBox extends HBox {
     @FXML
     private ImageView displayPicture;
 
-    private DialogBox(String text, Image img) {
+    /**
+     * Constructs an empty dialog box from its FXML layout.
+     */
+    public DialogBox() {
         try {
             FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
             fxmlLoader.setController(this);
@@ -33,28 +36,30 @@ public class DialogBox extends HBox {
         } catch (IOException e) {
             e.printStackTrace();
         }
+    }
+
+    /**
+     * Displays the message, with the picture on the right for the user and on the left for Performative.
+     *
+     * @param message The message to display.
+     */
+    public void show(DialogMessage message) {
+        dialog.setText(message.getText());
+        displayPicture.setImage(message.getImage());
 
-        dialog.setText(text);
-        displayPicture.setImage(img);
+        boolean isPictureOnLeft = getChildren().get(0) == displayPicture;
+        if (message.isUser() == isPictureOnLeft) {
+            flip();
+        }
+        setAlignment(message.isUser() ? Pos.TOP_RIGHT : Pos.TOP_LEFT);
     }
 
     /**
-     * Flips the dialog box such that the ImageView is on the left and text on the right.
+     * Flips the dialog box such that the ImageView and the text swap sides.
      */
     private void flip() {
         ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
         Collections.reverse(tmp);
         getChildren().setAll(tmp);
-        setAlignment(Pos.TOP_LEFT);
-    }
-
-    public static DialogBox getUserDialog(String text, Image img) {
-        return new DialogBox(text, img);
-    }
-
-    public static DialogBox getPerformativeDialog(String text, Image img) {
-        var db = new DialogBox(text, img);
-        db.flip();
-        return db;
     }
 }
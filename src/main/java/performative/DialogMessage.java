@@ -0,0 +1,39 @@
+package performative;
+
+import javafx.scene.image.Image;
+
+/**
+ * Represents a single message in the conversation, from either the user or Performative.
+ * Messages are plain data; they are rendered by the reusable cells of the conversation list.
+ */
+public class DialogMessage {
+    private final String text;
+    private final Image image;
+    private final boolean isUser;
+
+    private DialogMessage(String text, Image image, boolean isUser) {
+        this.text = text;
+        this.image = image;
+        this.isUser = isUser;
+    }
+
+    public static DialogMessage getUserMessage(String text, Image img) {
+        return new DialogMessage(text, img, true);
+    }
+
+    public static DialogMessage getPerformativeMessage(String text, Image img) {
+        return new DialogMessage(text, img, false);
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public Image getImage() {
+        return image;
+    }
+
+    public boolean isUser() {
+        return isUser;
+    }
+}
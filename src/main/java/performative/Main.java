@@ -8,6 +8,8 @@ import javafx.scene.Scene;
 import javafx.scene.layout.AnchorPane;
 import javafx.stage.Stage;
 
+import performative.metrics.Metrics;
+
 /**
  * A GUI for Duke using FXML.
  */
@@ -17,6 +19,7 @@ public class Main extends Application {
 
     @Override
     public void start(Stage stage) {
+        Metrics.startDumpingIfConfigured();
         try {
             FXMLLoader fxmlLoader = new FXMLLoader(Main.class.getResource("/view/MainWindow.fxml"));
             AnchorPane ap = fxmlLoader.load();
@@ -29,4 +32,9 @@ public class Main extends Application {
             e.printStackTrace();
         }
     }
+
+    @Override
+    public void stop() throws IOException {
+        performative.close();
+    }
 }
@@ -1,27 +1,46 @@
 package performative;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
 
 /**
  * Controller for the main GUI.
+ * Commands run on a background thread, one at a time and in the order they were entered,
+ * so that the window stays responsive while a command is loading or saving tasks.
+ * The conversation is shown in a virtualised list that keeps at most {@value #MAX_RETAINED_MESSAGES} messages.
  */
 public class MainWindow extends AnchorPane {
+    private static final int MAX_RETAINED_MESSAGES = 500;
+
     @FXML
-    private ScrollPane scrollPane;
-    @FXML
-    private VBox dialogContainer;
+    private ListView<DialogMessage> dialogList;
     @FXML
     private TextField userInput;
     @FXML
     private Button sendButton;
+    @FXML
+    private ProgressIndicator pendingIndicator;
 
     private Performative performative;
+    private int pendingCommandCount = 0;
+    private final ObservableList<DialogMessage> messages = FXCollections.observableArrayList();
+    private final ExecutorService commandExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "command-executor");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     private Image userImage = new Image(this.getClass().getResourceAsStream("/images/user-image.png"));
     private Image performativeImage = new Image(
@@ -29,7 +48,8 @@ public class MainWindow extends AnchorPane {
 
     @FXML
     public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
+        dialogList.setItems(messages);
+        dialogList.setCellFactory(ConversationCell::new);
     }
 
     /** Injects the Performative instance */
@@ -37,6 +57,8 @@ public class MainWindow extends AnchorPane {
         performative = p;
         // Add initial greeting message when Performative is set
         showGreeting();
+        performative.startReminders(reminder -> Platform.runLater(() ->
+                addMessage(messages.size(), DialogMessage.getPerformativeMessage(reminder, performativeImage))));
     }
 
     /**
@@ -44,23 +66,54 @@ public class MainWindow extends AnchorPane {
      */
     private void showGreeting() {
         String greetingMessage = performative.getWelcomeMessage();
-        dialogContainer.getChildren().add(
-                DialogBox.getPerformativeDialog(greetingMessage, performativeImage)
-        );
+        addMessage(messages.size(), DialogMessage.getPerformativeMessage(greetingMessage, performativeImage));
     }
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other containing Performative's reply
-     * and then appends them to the dialog container. Clears the user input after processing.
+     * Echoes the user input in the conversation and queues it for execution, then clears the user input.
+     * Performative's reply is added right after the echoed input once the command has run.
      */
     @FXML
     private void handleUserInput() {
         String input = userInput.getText();
-        String response = performative.getResponse(input);
-        dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, userImage),
-                DialogBox.getPerformativeDialog(response, performativeImage)
-        );
+        DialogMessage userMessage = DialogMessage.getUserMessage(input, userImage);
+        addMessage(messages.size(), userMessage);
         userInput.clear();
+        setPendingCommandCount(pendingCommandCount + 1);
+
+        CompletableFuture.supplyAsync(() -> performative.getResponse(input), commandExecutor)
+                .whenComplete((response, error) -> Platform.runLater(() -> {
+                    String reply = error == null ? response : "Something went wrong: " + error.getMessage();
+                    showResponse(userMessage, reply);
+                }));
+    }
+
+    /**
+     * Adds Performative's reply after the input it answers.
+     * Must be called on the JavaFX application thread.
+     */
+    private void showResponse(DialogMessage userMessage, String response) {
+        int userIndex = messages.indexOf(userMessage);
+        // The input may already have been dropped from the retained history
+        int replyIndex = userIndex < 0 ? messages.size() : userIndex + 1;
+        addMessage(replyIndex, DialogMessage.getPerformativeMessage(response, performativeImage));
+        setPendingCommandCount(pendingCommandCount - 1);
+    }
+
+    /**
+     * Inserts a message, drops the oldest messages beyond the retention cap, and scrolls to the bottom.
+     */
+    private void addMessage(int index, DialogMessage message) {
+        messages.add(index, message);
+        int excessCount = messages.size() - MAX_RETAINED_MESSAGES;
+        if (excessCount > 0) {
+            messages.remove(0, excessCount);
+        }
+        dialogList.scrollTo(messages.size() - 1);
+    }
+
+    private void setPendingCommandCount(int count) {
+        pendingCommandCount = count;
+        pendingIndicator.setVisible(count > 0);
     }
 }
@@ -1,76 +1,231 @@
 package performative;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
-import performative.exception.PerformativeException;
+import performative.metrics.Metrics;
+import performative.parser.Command;
 import performative.parser.Parser;
-import performative.storage.Storage;
+import performative.reminder.ReminderScheduler;
+import performative.storage.Durability;
+import performative.storage.LoadReport;
+import performative.storage.TaskStorage;
 import performative.tasks.Task;
 import performative.tasks.TaskList;
+import performative.time.TaskClock;
 import performative.ui.Ui;
 
 /**
  * Represents the main application class for the Performative task management system.
  * Manages the interaction between the user interface, task storage, and task operations.
+ * Must be closed once it is no longer needed, so that its storage writes every queued change.
  */
-public class Performative {
-    private Storage storage;
+public class Performative implements AutoCloseable {
+    private static final int UNKNOWN_TASK_NUMBER = 0;
+    private static final int FIRST_TASK_NUMBER = 1;
+    private static final int SEARCH_RESULT_LIMIT = 10;
+
+    private TaskStorage storage;
     private TaskList taskList;
     private Ui ui;
     private boolean isInitialized = false;
+    private final AtomicReference<IOException> storageError = new AtomicReference<>();
+    private final AtomicReference<LoadReport> loadProblems = new AtomicReference<>();
+    /** Why the saved tasks could not be loaded, or null if they loaded or are still loading. */
+    private volatile String loadFailure;
+    private volatile boolean isPersistenceDeferred = false;
+    private volatile boolean hasUnsavedChanges = false;
+    private CompletableFuture<Void> loadingTaskList;
+    private CompletableFuture<Void> indexingTaskList;
+    private final ArrayList<Task> pendingTasks = new ArrayList<>();
+    private final Object taskListLock = new Object();
+    // Commands that change tasks run one at a time; read-only commands take no lock and read the list's snapshot
+    private final Lock commandLock = new ReentrantLock();
+    private final List<ReminderScheduler> reminderSchedulers = new CopyOnWriteArrayList<>();
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "task-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     /**
      * Constructs a new Performative application instance.
      *
      * @param filePath Path to the file where tasks will be saved and loaded from.
+     *     Paths ending in ".bin" use the binary save format.
      */
     public Performative(String filePath) {
+        this(filePath, Durability.WRITE_BEHIND);
+    }
+
+    /**
+     * Constructs a new Performative application instance with the given storage durability.
+     *
+     * @param filePath Path to the file where tasks will be saved and loaded from.
+     *     Paths ending in ".bin" use the binary save format.
+     * @param durability How durable each change must be before a command returns.
+     */
+    public Performative(String filePath, Durability durability) {
         ui = new Ui();
-        storage = new Storage(filePath);
+        storage = TaskStorage.open(filePath, durability);
     }
 
     /**
      * Initializes the application.
-     * Sets up the task list and storage.
+     * Starts loading the task list in the background and returns immediately.
+     * Loading does not index the tasks. Once the list has loaded, its indexes are built on the same background
+     * thread, so that commands never wait for them; until each index is ready, the commands it serves scan the list.
+     * If loading fails, the list is never set, and commands that use it reply with the failure instead.
      */
-    private void initialize() {
+    private synchronized void initialize() {
         if (isInitialized) {
             return;
         }
 
+        loadingTaskList = CompletableFuture.runAsync(this::loadTaskList, loader);
+        indexingTaskList = loadingTaskList.thenRunAsync(() -> {
+            if (taskList != null) {
+                taskList.buildIndexes();
+            }
+        }, loader);
+        isInitialized = true;
+    }
+
+    /**
+     * Sets up the task list and storage.
+     * Tasks added while loading are appended to the loaded list and saved, in the order they were added.
+     * A save file that cannot be read, or that holds data the loader cannot handle, is left untouched:
+     * the failure is kept for commands to report, rather than starting over with an empty list that
+     * a later save would write over the file.
+     */
+    private void loadTaskList() {
+        TaskList loadedTaskList;
         try {
             if (!storage.fileExists()) {
-                taskList = new TaskList();
+                loadedTaskList = new TaskList();
                 storage.initializeFile();
             } else {
-                taskList = new TaskList(storage.loadTasks());
+                loadedTaskList = new TaskList(storage.loadTasks());
+                LoadReport report = storage.takeLoadReport();
+                if (report != null && report.hasProblems()) {
+                    loadProblems.set(report);
+                }
             }
-            isInitialized = true;
-        } catch (IOException e) {
-            taskList = new TaskList();
-            isInitialized = true;
+        } catch (IOException | RuntimeException e) {
+            synchronized (taskListLock) {
+                loadFailure = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                pendingTasks.clear();
+            }
+            return;
+        }
+
+        synchronized (taskListLock) {
+            for (Task task : pendingTasks) {
+                loadedTaskList.addTask(task);
+                if (isPersistenceDeferred) {
+                    hasUnsavedChanges = true;
+                    continue;
+                }
+                try {
+                    storage.saveTask(task);
+                } catch (IOException e) {
+                    storageError.set(e);
+                }
+            }
+            pendingTasks.clear();
+            taskList = loadedTaskList;
         }
     }
 
     /**
-     * Adds a new task based on the user input string.
+     * Starts reminding the user shortly before unfinished deadlines are due and events start.
+     * Reminders for tasks already saved are scheduled once the task list has loaded and been indexed,
+     * since checking each of them is a lookup by ID.
+     *
+     * @param output Receives each reminder message, on the reminder timer thread.
+     */
+    public void startReminders(Consumer<String> output) {
+        initialize();
+        ReminderScheduler reminders = new ReminderScheduler(output, ui, ReminderScheduler.DEFAULT_LEAD_TIME);
+        reminderSchedulers.add(reminders);
+        indexingTaskList.whenComplete((ignored, e) -> {
+            if (taskList != null) {
+                reminders.watch(taskList);
+            }
+        });
+    }
+
+    /**
+     * Stops reminding the user, waits for the task list to finish loading, and closes the storage,
+     * which writes every change still queued and stops its background threads.
+     * The application must not be used afterwards.
+     *
+     * @throws IOException If a change could not be written.
+     */
+    @Override
+    public void close() throws IOException {
+        for (ReminderScheduler reminders : reminderSchedulers) {
+            reminders.stop();
+        }
+        synchronized (this) {
+            if (isInitialized) {
+                // Loading reads the storage, so it must finish before the storage is closed
+                loadingTaskList.exceptionally(e -> null).join();
+            }
+        }
+        loader.shutdown();
+        storage.close();
+    }
+
+    /**
+     * Waits until the task list has finished loading.
+     */
+    private void awaitTaskList() {
+        loadingTaskList.join();
+    }
+
+    /**
+     * Waits until the task list has finished loading and its indexes have been built.
+     * Used by benchmarks that measure search itself rather than its fallback.
+     */
+    void awaitSearchIndex() {
+        initialize();
+        indexingTaskList.join();
+    }
+
+    /**
+     * Adds a new task to the task list.
      * Returns a confirmation message string.
      *
-     * @param input User input string containing task details.
+     * @param task The task to add.
      * @return Confirmation message string.
      */
-    public String addTask(String input) {
-        try {
-            Task task = Parser.parseTask(input);
-            taskList.addTask(task);
-            storage.saveTask(task);
-            return ui.getAddTaskMessage(task, taskList.getTaskCount());
-        } catch (PerformativeException e) {
-            return e.getMessage();
-        } catch (IOException e) {
-            return "Error writing to save file";
+    public String addTask(Task task) {
+        synchronized (taskListLock) {
+            if (loadFailure != null) {
+                return ui.getLoadFailedMessage(loadFailure);
+            }
+            if (taskList == null) {
+                // Saved once loading finishes, so that the task is not replayed twice
+                pendingTasks.add(task);
+                return ui.getAddPendingTaskMessage(task);
+            }
         }
+        taskList.addTask(task);
+        updateFile(() -> storage.saveTask(task));
+        return ui.getAddTaskMessage(task, taskList.getTaskCount());
     }
 
     /**
@@ -83,7 +238,7 @@ public class Performative {
     public String deleteTask(int taskNumber) {
         try {
             Task deletedTask = taskList.deleteTask(taskNumber);
-            updateFile();
+            updateFile(() -> storage.saveDelete(taskNumber, deletedTask));
             return ui.getDeleteTaskMessage(deletedTask, taskNumber, taskList.getTaskCount());
         } catch (IndexOutOfBoundsException e) {
             return ui.getInvalidTaskNumberMessage(taskList.getTaskCount());
@@ -91,17 +246,117 @@ public class Performative {
     }
 
     /**
-     * Updates the save file with the current list of tasks.
-     * Rewrites the entire save file with all tasks in the current task list.
+     * Deletes the task with the specified persistent ID.
+     * Returns a confirmation message string.
+     *
+     * @param id The ID of the task to delete.
+     * @return Confirmation message string.
      */
-    private void updateFile() {
+    public String deleteTaskById(int id) {
+        Task deletedTask = taskList.deleteTaskById(id);
+        if (deletedTask == null) {
+            return ui.getInvalidTaskIdMessage(id);
+        }
+        updateFile(() -> storage.saveDelete(UNKNOWN_TASK_NUMBER, deletedTask));
+        return ui.getDeleteTaskByIdMessage(deletedTask, taskList.getTaskCount());
+    }
+
+    /**
+     * Deletes the tasks at the specified task numbers, and saves the deletions as one change.
+     * Returns a confirmation message string.
+     *
+     * @param taskNumbers The numbers of the tasks to delete (1-indexed), in ascending order without repeats.
+     * @return Confirmation message string.
+     */
+    public String deleteTasks(int[] taskNumbers) {
+        List<Task> deletedTasks = taskList.deleteTasks(taskNumbers);
+        updateFile(() -> storage.saveDeletes(taskNumbers, deletedTasks));
+        return ui.getDeleteTasksMessage(deletedTasks, taskList.getTaskCount());
+    }
+
+    /**
+     * Updates the save file with a single change to the task list.
+     * Appends the change to the storage journal instead of rewriting every task.
+     * A failed write is kept and reported with the response to the command.
+     * While persistence is deferred, the change is only noted, and is saved by the next {@link #saveChanges()}.
+     *
+     * @param change The storage write recording the change.
+     */
+    private void updateFile(StorageChange change) {
+        if (isPersistenceDeferred) {
+            hasUnsavedChanges = true;
+            return;
+        }
         try {
-            storage.saveTasks(taskList.getTasks());
+            change.write();
+            storage.compactIfNeeded(taskList::getTasks);
         } catch (IOException e) {
-            return;
+            storageError.set(e);
+        }
+    }
+
+    /**
+     * Sets whether changes are saved as each command runs, or only when {@link #saveChanges()} is called.
+     * Deferring saves lets a batch of commands be saved with one rewrite of the save file
+     * instead of one journal record per command.
+     * Turning deferral off saves any changes made while it was on.
+     *
+     * @param isDeferred True to defer saving changes.
+     * @throws IOException If turning deferral off fails to save the deferred changes.
+     */
+    public void setPersistenceDeferred(boolean isDeferred) throws IOException {
+        isPersistenceDeferred = isDeferred;
+        if (!isDeferred) {
+            saveChanges();
+        }
+    }
+
+    /**
+     * Saves every task to the save file if any change has not been saved yet.
+     * Waits for the task list to finish loading first.
+     *
+     * @throws IOException If the save file cannot be written.
+     */
+    public void saveChanges() throws IOException {
+        initialize();
+        awaitTaskList();
+        commandLock.lock();
+        try {
+            if (!hasUnsavedChanges) {
+                return;
+            }
+            if (taskList == null) {
+                throw new IOException("The saved tasks could not be loaded: " + loadFailure);
+            }
+            storage.saveTasks(taskList.getTasks());
+            hasUnsavedChanges = false;
+        } finally {
+            commandLock.unlock();
         }
     }
 
+    /**
+     * Returns the warnings to append to a response if any change could not be saved, or an empty string.
+     * Covers both writes that failed during the command and earlier write-behind failures,
+     * and, once, any records that could not be loaded from the save file.
+     */
+    private String takeStorageWarnings() {
+        String warnings = "";
+        LoadReport report = loadProblems.getAndSet(null);
+        if (report != null) {
+            warnings += "\n\n" + ui.getLoadProblemsMessage(report.getProblemCount(), report.getDescriptions());
+        }
+
+        IOException error = storageError.getAndSet(null);
+        if (error == null) {
+            error = storage.takeWriteFailure();
+        }
+        if (error != null) {
+            warnings += "\n\n" + ui.getStorageErrorMessage(error.getMessage());
+        }
+        return warnings;
+    }
+
     /**
      * Marks a task as completed.
      * Returns a confirmation message string.
@@ -112,8 +367,8 @@ public class Performative {
     public String markTask(int taskNumber) {
         try {
             Task task = taskList.getTask(taskNumber);
-            task.markDone();
-            updateFile();
+            taskList.setDone(task, true);
+            updateFile(() -> storage.saveMark(taskNumber, task));
             return ui.getMarkTaskMessage(task);
         } catch (IndexOutOfBoundsException e) {
             return ui.getInvalidTaskNumberMessage(taskList.getTaskCount());
@@ -130,8 +385,8 @@ public class Performative {
     public String unmarkTask(int taskNumber) {
         try {
             Task task = taskList.getTask(taskNumber);
-            task.markUndone();
-            updateFile();
+            taskList.setDone(task, false);
+            updateFile(() -> storage.saveUnmark(taskNumber, task));
             return ui.getMarkTaskMessage(task);
         } catch (IndexOutOfBoundsException e) {
             return ui.getInvalidTaskNumberMessage(taskList.getTaskCount());
@@ -139,12 +394,125 @@ public class Performative {
     }
 
     /**
-     * Returns all tasks in the current task list.
+     * Marks the tasks at the specified task numbers as completed, and saves the changes as one change.
+     * Returns a confirmation message string.
      *
-     * @return Formatted task list string.
+     * @param taskNumbers The numbers of the tasks to mark as done (1-indexed).
+     * @return Confirmation message string.
      */
-    public String listTasks() {
-        return ui.getListTasksMessage(taskList.getTasks());
+    public String markTasks(int[] taskNumbers) {
+        List<Task> markedTasks = setTasksDone(taskNumbers, true);
+        return ui.getMarkTasksMessage(markedTasks);
+    }
+
+    /**
+     * Marks the tasks at the specified task numbers as not completed, and saves the changes as one change.
+     * Returns a confirmation message string.
+     *
+     * @param taskNumbers The numbers of the tasks to mark as undone (1-indexed).
+     * @return Confirmation message string.
+     */
+    public String unmarkTasks(int[] taskNumbers) {
+        List<Task> unmarkedTasks = setTasksDone(taskNumbers, false);
+        return ui.getUnmarkTasksMessage(unmarkedTasks);
+    }
+
+    private List<Task> setTasksDone(int[] taskNumbers, boolean isDone) {
+        ArrayList<Task> changedTasks = new ArrayList<>(taskNumbers.length);
+        for (int taskNumber : taskNumbers) {
+            Task task = taskList.getTask(taskNumber);
+            taskList.setDone(task, isDone);
+            changedTasks.add(task);
+        }
+        updateFile(() -> storage.saveMarks(taskNumbers, changedTasks, isDone));
+        return changedTasks;
+    }
+
+    /**
+     * Marks the task with the specified persistent ID as completed.
+     * Returns a confirmation message string.
+     *
+     * @param id The ID of the task to mark as done.
+     * @return Confirmation message string.
+     */
+    public String markTaskById(int id) {
+        Task task = taskList.getTaskById(id);
+        if (task == null) {
+            return ui.getInvalidTaskIdMessage(id);
+        }
+        taskList.setDone(task, true);
+        updateFile(() -> storage.saveMark(UNKNOWN_TASK_NUMBER, task));
+        return ui.getMarkTaskMessage(task);
+    }
+
+    /**
+     * Marks the task with the specified persistent ID as not completed.
+     * Returns a confirmation message string.
+     *
+     * @param id The ID of the task to mark as undone.
+     * @return Confirmation message string.
+     */
+    public String unmarkTaskById(int id) {
+        Task task = taskList.getTaskById(id);
+        if (task == null) {
+            return ui.getInvalidTaskIdMessage(id);
+        }
+        taskList.setDone(task, false);
+        updateFile(() -> storage.saveUnmark(UNKNOWN_TASK_NUMBER, task));
+        return ui.getUnmarkTaskMessage(task);
+    }
+
+    /**
+     * Writes all tasks in the task list, one task at a time.
+     *
+     * @param isShowingIds Whether to follow each task with its persistent ID.
+     * @param out The output to write the formatted task list to.
+     * @throws IOException If the output cannot be written to.
+     */
+    public void listTasks(boolean isShowingIds, Appendable out) throws IOException {
+        ui.writeListTasksMessage(taskList.getTasks(), isShowingIds, out);
+    }
+
+    /**
+     * Writes up to the given number of tasks, starting at the specified task number.
+     *
+     * @param firstTaskNumber The number of the first task to list (1-indexed).
+     * @param limit The maximum number of tasks to list.
+     * @param isShowingIds Whether to follow each task with its persistent ID.
+     * @param out The output to write the formatted task list page to.
+     * @throws IOException If the output cannot be written to.
+     */
+    public void listTasks(int firstTaskNumber, int limit, boolean isShowingIds, Appendable out) throws IOException {
+        List<Task> page;
+        try {
+            page = taskList.getTaskPage(firstTaskNumber, limit);
+        } catch (IndexOutOfBoundsException e) {
+            out.append(ui.getInvalidTaskNumberMessage(taskList.getTaskCount()));
+            return;
+        }
+        ui.writeListTaskPageMessage(page, firstTaskNumber, taskList.getTaskCount(), isShowingIds, out);
+    }
+
+    /**
+     * Writes the tasks on the specified page of the task list.
+     *
+     * @param pageNumber The number of the page to list (1-indexed).
+     * @param isShowingIds Whether to follow each task with its persistent ID.
+     * @param out The output to write the formatted task list page to.
+     * @throws IOException If the output cannot be written to.
+     */
+    public void listTaskPage(int pageNumber, boolean isShowingIds, Appendable out) throws IOException {
+        int taskCount = taskList.getTaskCount();
+        if (taskCount == 0) {
+            listTasks(isShowingIds, out);
+            return;
+        }
+        int pageCount = (taskCount + Ui.LIST_PAGE_SIZE - 1) / Ui.LIST_PAGE_SIZE;
+        if (pageNumber < FIRST_TASK_NUMBER || pageNumber > pageCount) {
+            out.append(ui.getInvalidListPageMessage(pageCount));
+            return;
+        }
+        listTasks((pageNumber - 1) * Ui.LIST_PAGE_SIZE + FIRST_TASK_NUMBER, Ui.LIST_PAGE_SIZE, isShowingIds, out);
     }
 
     /**
@@ -164,16 +532,75 @@ public class Performative {
      * @return Search results string.
      */
     public String findTasks(String keyword) {
-        ArrayList<Task> matchingTasks = new ArrayList<>();
-        ArrayList<Task> allTasks = taskList.getTasks();
+        ArrayList<Task> matchingTasks = taskList.findTasks(keyword);
+        return ui.getSearchResultsMessage(matchingTasks, keyword);
+    }
+
+    /**
+     * Searches for tasks with descriptions similar to the query, tolerating typos.
+     * Returns the best matches, most similar first.
+     *
+     * @param query The text to search for.
+     * @return Search results string.
+     */
+    public String searchTasks(String query) {
+        List<Task> matchingTasks = taskList.searchTasks(query, SEARCH_RESULT_LIMIT);
+        return ui.getRankedSearchResultsMessage(matchingTasks, query);
+    }
+
+    /**
+     * Returns the deadlines due and events happening on the given date.
+     *
+     * @param date The date to look at.
+     * @return Schedule string.
+     */
+    public String findTasksDue(LocalDate date) {
+        List<Task> tasks = taskList.findTasksBetween(date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+        return ui.getDueTasksMessage(tasks, date);
+    }
 
-        for (Task task : allTasks) {
-            if (task.getDescription().toLowerCase().contains(keyword.toLowerCase())) {
-                matchingTasks.add(task);
+    /**
+     * Returns the unfinished deadlines due and events happening from now until the given number of days from now.
+     *
+     * @param days The number of days to look ahead.
+     * @return Schedule string.
+     */
+    public String findUpcomingTasks(int days) {
+        LocalDateTime now = TaskClock.now();
+        List<Task> tasks = getUnfinishedTasks(taskList.findTasksBetween(now, now.plusDays(days)));
+        return ui.getUpcomingTasksMessage(tasks, days);
+    }
+
+    /**
+     * Returns the unfinished deadlines that were due before now.
+     *
+     * @return Overdue tasks string.
+     */
+    public String findOverdueTasks() {
+        List<Task> tasks = getUnfinishedTasks(taskList.findDeadlinesBefore(TaskClock.now()));
+        return ui.getOverdueTasksMessage(tasks);
+    }
+
+    /**
+     * Returns the deadlines due and events happening on any day from one date to another, inclusive.
+     *
+     * @param from The first date to look at.
+     * @param to The last date to look at.
+     * @return Schedule string.
+     */
+    public String findTasksDuring(LocalDate from, LocalDate to) {
+        List<Task> tasks = taskList.findTasksBetween(from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+        return ui.getTasksDuringMessage(tasks, from, to);
+    }
+
+    private static List<Task> getUnfinishedTasks(List<Task> tasks) {
+        List<Task> unfinishedTasks = new ArrayList<>();
+        for (Task task : tasks) {
+            if (!task.isDone()) {
+                unfinishedTasks.add(task);
             }
         }
-
-        return ui.getSearchResultsMessage(matchingTasks, keyword);
+        return unfinishedTasks;
     }
 
     /**
@@ -182,24 +609,86 @@ public class Performative {
      * @return Welcome message string.
      */
     public String getWelcomeMessage() {
+        initialize();
         return ui.getWelcomeMessage();
     }
 
     /**
      * Handles user input and returns appropriate response for GUI.
+     * Adding a task does not wait for the task list to finish loading; every other command does.
+     * Safe to call from several threads: commands that change tasks run one at a time,
+     * while read-only commands run without waiting for them.
      *
      * @param input User input string.
      * @return Response string to be displayed in GUI.
      */
     public String getResponse(String input) {
+        StringBuilder response = new StringBuilder();
+        try {
+            writeResponse(input, response);
+        } catch (IOException e) {
+            // Appending to a StringBuilder never fails
+            throw new UncheckedIOException(e);
+        }
+        return response.toString();
+    }
+
+    /**
+     * Handles user input and writes the response to the output.
+     * Read-only commands such as list write their response as it is produced, rather than building it whole first.
+     * The responses of commands that change tasks are built first and written once the change is complete,
+     * so that a slow output never holds up other commands waiting to change tasks.
+     * Safe to call from several threads, like {@link #getResponse(String)}.
+     *
+     * @param input User input string.
+     * @param out The output to write the response to.
+     * @throws IOException If the output cannot be written to.
+     */
+    public void writeResponse(String input, Appendable out) throws IOException {
         initialize();
 
         String trimmedInput = input.trim();
         if (trimmedInput.isEmpty()) {
-            return ui.getUnsupportedCommandMessage();
+            out.append(ui.getUnsupportedCommandMessage());
+            return;
+        }
+        Command command = Parser.findCommand(trimmedInput);
+        if (command == null) {
+            Metrics.increment("command.unsupported");
+            out.append(ui.getUnsupportedCommandMessage());
+            return;
         }
 
-        return Parser.parseAndExecute(trimmedInput, this, ui);
+        // Timed from here so that waiting for the task list to load or for other commands is included
+        long start = System.nanoTime();
+        if (command.needsLoadedTasks()) {
+            awaitTaskList();
+            if (loadFailure != null) {
+                out.append(ui.getLoadFailedMessage(loadFailure));
+                return;
+            }
+        }
+        String response = null;
+        boolean isMutating = command.isMutating();
+        if (isMutating) {
+            commandLock.lock();
+        }
+        try {
+            if (isMutating) {
+                response = command.execute(Parser.getArguments(trimmedInput), this, ui);
+            } else {
+                command.write(Parser.getArguments(trimmedInput), this, ui, out);
+            }
+        } finally {
+            if (isMutating) {
+                commandLock.unlock();
+            }
+            Metrics.recordSince("command." + Parser.getCommandWord(trimmedInput), start);
+        }
+        if (response != null) {
+            out.append(response);
+        }
+        out.append(takeStorageWarnings());
     }
 
     /**
@@ -211,4 +700,12 @@ public class Performative {
     public static void main(String[] args) {
         System.out.println("Hello!");
     }
+
+    /**
+     * Represents a single write of a task list change to storage.
+     */
+    @FunctionalInterface
+    private interface StorageChange {
+        void write() throws IOException;
+    }
 }
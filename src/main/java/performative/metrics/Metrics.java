@@ -0,0 +1,146 @@
+package performative.metrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the application's counters and latency histograms, by name.
+ * Names are dotted, starting with the area they measure, such as "command.list" or "storage.saveTask".
+ * Recording costs a hash lookup and a few atomic additions, so metrics are always on.
+ */
+public final class Metrics {
+    /** System property naming a file to write the metrics report to periodically. */
+    public static final String DUMP_FILE_PROPERTY = "performative.metrics.file";
+    /** System property giving the number of seconds between periodic reports. */
+    public static final String DUMP_INTERVAL_PROPERTY = "performative.metrics.interval";
+
+    private static final long DEFAULT_DUMP_INTERVAL_SECONDS = 60;
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    private static final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private static ScheduledExecutorService dumper;
+
+    private Metrics() {
+    }
+
+    /**
+     * Returns the histogram with the given name, creating it if needed.
+     * Callers on a hot path can keep the returned histogram to skip the lookup.
+     *
+     * @param name The histogram's name.
+     * @return The histogram.
+     */
+    public static LatencyHistogram getHistogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    /**
+     * Records the time from the given start, as returned by {@link System#nanoTime()}, until now.
+     *
+     * @param name The name of the histogram to record into.
+     * @param startNanos The start time.
+     */
+    public static void recordSince(String name, long startNanos) {
+        getHistogram(name).recordSince(startNanos);
+    }
+
+    /**
+     * Adds one to the counter with the given name.
+     *
+     * @param name The counter's name.
+     */
+    public static void increment(String name) {
+        counters.computeIfAbsent(name, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * Returns the current value of the counter with the given name.
+     *
+     * @param name The counter's name.
+     * @return The counter's value, or zero if it has never been incremented.
+     */
+    public static long getCount(String name) {
+        LongAdder counter = counters.get(name);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Returns a report of every histogram that has recorded something and every counter,
+     * one per line and sorted by name. Latencies are shown in milliseconds.
+     *
+     * @return The report.
+     */
+    public static String getReport() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(histograms).entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            if (histogram.getCount() == 0) {
+                continue;
+            }
+            sb.append(String.format("%-22s n=%-8d mean=%.3f p50=%.3f p99=%.3f max=%.3f ms%n", entry.getKey(),
+                    histogram.getCount(), histogram.getMean() / NANOS_PER_MILLI,
+                    histogram.getPercentile(50) / NANOS_PER_MILLI, histogram.getPercentile(99) / NANOS_PER_MILLI,
+                    histogram.getMax() / NANOS_PER_MILLI));
+        }
+        for (Map.Entry<String, LongAdder> entry : new TreeMap<>(counters).entrySet()) {
+            sb.append(String.format("%-22s %d%n", entry.getKey(), entry.getValue().sum()));
+        }
+        return sb.toString().stripTrailing();
+    }
+
+    /**
+     * Starts writing the report to a file periodically, if the {@value #DUMP_FILE_PROPERTY} system property
+     * names one. The interval is read from {@value #DUMP_INTERVAL_PROPERTY}, in seconds.
+     * Does nothing if reports are already being written.
+     */
+    public static synchronized void startDumpingIfConfigured() {
+        String file = System.getProperty(DUMP_FILE_PROPERTY);
+        if (file == null || dumper != null) {
+            return;
+        }
+        long seconds = Long.getLong(DUMP_INTERVAL_PROPERTY, DEFAULT_DUMP_INTERVAL_SECONDS);
+        startDumping(Path.of(file), Duration.ofSeconds(Math.max(seconds, 1)));
+    }
+
+    /**
+     * Starts writing the report to the file at the given interval, replacing the file's content each time.
+     * Does nothing if reports are already being written.
+     *
+     * @param file The file to write to.
+     * @param interval The time between reports.
+     */
+    public static synchronized void startDumping(Path file, Duration interval) {
+        if (dumper != null) {
+            return;
+        }
+        dumper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dumper.scheduleAtFixedRate(() -> dump(file), interval.toMillis(), interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    private static void dump(Path file) {
+        try {
+            // Written beside the file and renamed over it, so readers never see half a report
+            Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.writeString(temporaryFile, getReport() + System.lineSeparator());
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            increment("metrics.dumpErrors");
+        }
+    }
+}
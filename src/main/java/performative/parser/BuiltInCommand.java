@@ -0,0 +1,153 @@
+package performative.parser;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import performative.Performative;
+import performative.exception.PerformativeException;
+import performative.metrics.Metrics;
+import performative.ui.Ui;
+
+/**
+ * Lists the commands built into Performative, with the word that names each one.
+ */
+enum BuiltInCommand implements Command {
+    BYE("bye", false, false) {
+        @Override
+        public String execute(String arguments, Performative performative, Ui ui) {
+            return arguments.isEmpty() ? ui.getByeMessage() : ui.getUnsupportedCommandMessage();
+        }
+    },
+    LIST("list", false, true) {
+        @Override
+        public String execute(String arguments, Performative performative, Ui ui) {
+            StringBuilder response = new StringBuilder();
+            try {
+                write(arguments, performative, ui, response);
+            } catch (IOException e) {
+                // Appending to a StringBuilder never fails
+                throw new UncheckedIOException(e);
+            }
+            return response.toString();
+        }
+
+        @Override
+        public void write(String arguments, Performative performative, Ui ui, Appendable out) throws IOException {
+            Parser.parseList(arguments, performative, ui, out);
+        }
+    },
+    MARK("mark", true, true) {
+        @Override
+        public String execute(String arguments, Performative performative, Ui ui) {
+            return Parser.parseMarkUnmark(arguments, true, performative, ui);
+        }
+    },
+    UNMARK("unmark", true, true) {
+        @Override
+        public String execute(String arguments, Performative performative, Ui ui) {
+            return Parser.parseMarkUnmark(arguments, false, performative, ui);
+        }
+    },
+    DELETE("delete", true, true) {
+        @Override
+        public String execute(String arguments, Performative performative, Ui ui) {
+            return Parser.parseDelete(arguments, performative, ui);
+        }
+    },
+    FIND("find", false, true) {
+        @Override
+        public String execute(String arguments, Performative performative, Ui ui) {
+            return Parser.parseFind(arguments, performative, ui);
+        }
+    },
+    SEARCH("search", false, true) {
+        @Override
+        public String execute(String arguments, Performative performative, Ui ui) {
+            return Parser.parseSearch(arguments, performative, ui);
+        }
+    },
+    DUE("due", false, true) {
+        @Override
+        public String execute(String arguments, Performative performative, Ui ui) {
+            return Parser.parseDue(arguments, performative, ui);
+        }
+    },
+    UPCOMING("upcoming", false, true) {
+        @Override
+        public String execute(String arguments, Performative performative, Ui ui) {
+            return Parser.parseUpcoming(arguments, performative, ui);
+        }
+    },
+    OVERDUE("overdue", false, true) {
+        @Override
+        public String execute(String arguments, Performative performative, Ui ui) {
+            return arguments.isEmpty() ? performative.findOverdueTasks() : ui.getInvalidScheduleCommandMessage();
+        }
+    },
+    DURING("during", false, true) {
+        @Override
+        public String execute(String arguments, Performative performative, Ui ui) {
+            return Parser.parseDuring(arguments, performative, ui);
+        }
+    },
+    STATS("stats", false, false) {
+        @Override
+        public String execute(String arguments, Performative performative, Ui ui) {
+            return arguments.isEmpty() ? ui.getStatsMessage(Metrics.getReport()) : ui.getUnsupportedCommandMessage();
+        }
+    },
+    TODO("todo", true, false) {
+        @Override
+        public String execute(String arguments, Performative performative, Ui ui) {
+            try {
+                return performative.addTask(Parser.parseTodo(arguments));
+            } catch (PerformativeException e) {
+                return e.getMessage();
+            }
+        }
+    },
+    DEADLINE("deadline", true, false) {
+        @Override
+        public String execute(String arguments, Performative performative, Ui ui) {
+            try {
+                return performative.addTask(Parser.parseDeadline(arguments));
+            } catch (PerformativeException e) {
+                return e.getMessage();
+            }
+        }
+    },
+    EVENT("event", true, false) {
+        @Override
+        public String execute(String arguments, Performative performative, Ui ui) {
+            try {
+                return performative.addTask(Parser.parseEvent(arguments));
+            } catch (PerformativeException e) {
+                return e.getMessage();
+            }
+        }
+    };
+
+    private final String word;
+    private final boolean isMutating;
+    private final boolean needsLoadedTasks;
+
+    BuiltInCommand(String word, boolean isMutating, boolean needsLoadedTasks) {
+        this.word = word;
+        this.isMutating = isMutating;
+        this.needsLoadedTasks = needsLoadedTasks;
+    }
+
+    public String getWord() {
+        return word;
+    }
+
+    @Override
+    public boolean isMutating() {
+        return isMutating;
+    }
+
+    @Override
+    public boolean needsLoadedTasks() {
+        return needsLoadedTasks;
+    }
+}
@@ -0,0 +1,52 @@
+package performative.parser;
+
+import java.io.IOException;
+
+import performative.Performative;
+import performative.ui.Ui;
+
+/**
+ * Represents a command that the user can enter, identified by the first word of the input.
+ * Commands declare whether they change the task list, so that callers can decide how to lock and persist around them.
+ */
+public interface Command {
+
+    /**
+     * Executes the command and returns a string response for the GUI.
+     *
+     * @param arguments The input after the command word, without surrounding whitespace.
+     * @param performative The main Performative application instance.
+     * @param ui The user interface instance for generating messages.
+     * @return String response for the GUI.
+     */
+    String execute(String arguments, Performative performative, Ui ui);
+
+    /**
+     * Executes the command and writes its response to the output.
+     * Commands with long responses override this to write the response as it is produced.
+     *
+     * @param arguments The input after the command word, without surrounding whitespace.
+     * @param performative The main Performative application instance.
+     * @param ui The user interface instance for generating messages.
+     * @param out The output to write the response to.
+     * @throws IOException If the output cannot be written to.
+     */
+    default void write(String arguments, Performative performative, Ui ui, Appendable out) throws IOException {
+        out.append(execute(arguments, performative, ui));
+    }
+
+    /**
+     * Returns whether the command can change the task list.
+     *
+     * @return True if the command may add, change or delete tasks.
+     */
+    boolean isMutating();
+
+    /**
+     * Returns whether the command needs the saved tasks to be loaded before it runs.
+     * Commands that only append tasks can run while the task list is still loading.
+     *
+     * @return True if the command reads or changes existing tasks.
+     */
+    boolean needsLoadedTasks();
+}
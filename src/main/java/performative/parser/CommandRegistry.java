@@ -0,0 +1,48 @@
+package performative.parser;
+
+import java.util.HashMap;
+
+/**
+ * Maps command words to the commands they name.
+ * Finding a command scans the input once, up to the first space, and then does a single hash lookup,
+ * so registering more commands does not slow down finding any of them.
+ */
+class CommandRegistry {
+    private static final int NOT_FOUND = -1;
+
+    private final HashMap<String, Command> commands = new HashMap<>();
+
+    /**
+     * Returns a registry holding every built-in command.
+     */
+    static CommandRegistry withBuiltInCommands() {
+        CommandRegistry registry = new CommandRegistry();
+        for (BuiltInCommand command : BuiltInCommand.values()) {
+            registry.register(command.getWord(), command);
+        }
+        return registry;
+    }
+
+    /**
+     * Registers the command under the command word, replacing any command already registered under it.
+     */
+    void register(String word, Command command) {
+        assert word.indexOf(' ') == NOT_FOUND : "Command words cannot contain spaces";
+        commands.put(word, command);
+    }
+
+    /**
+     * Returns the command named by the first word of the input, or null if there is none.
+     */
+    Command find(String input) {
+        return commands.get(getWord(input));
+    }
+
+    /**
+     * Returns the first word of the input, which names its command.
+     */
+    static String getWord(String input) {
+        int spaceIndex = input.indexOf(' ');
+        return spaceIndex == NOT_FOUND ? input : input.substring(0, spaceIndex);
+    }
+}
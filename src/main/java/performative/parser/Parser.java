@@ -1,6 +1,10 @@
 package performative.parser;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.BitSet;
 
 import performative.Performative;
 import performative.exception.PerformativeException;
@@ -8,25 +12,31 @@ import performative.tasks.Deadline;
 import performative.tasks.Event;
 import performative.tasks.Task;
 import performative.tasks.Todo;
+import performative.time.DateTimeParser;
 import performative.ui.Ui;
 
 
 /**
  * Handles parsing and execution of user commands in the Performative application.
- * Processes user input and delegates to appropriate methods for task operations.
+ * Commands are looked up by their first word in a command registry,
+ * and each command parses the rest of the input itself.
  */
 public class Parser {
 
-    private static final int EXPECTED_COMMAND_PARTS = 2;
-    private static final int TASK_NUMBER_INDEX = 1;
-    private static final int FIND_KEYWORD_START_INDEX = 5;
-    private static final int TODO_DESCRIPTION_START_INDEX = 5;
-    private static final int DEADLINE_PREFIX_LENGTH = 9;
-    private static final int EVENT_PREFIX_LENGTH = 6;
     private static final int BY_KEYWORD_LENGTH = 5;
     private static final int FROM_KEYWORD_LENGTH = 7;
     private static final int TO_KEYWORD_LENGTH = 5;
     private static final int NOT_FOUND = -1;
+    private static final String TASK_ID_PREFIX = "#";
+    private static final int LIST_PAGE_PARTS = 1;
+    private static final int LIST_PAGE_NUMBER_INDEX = 0;
+    private static final String LIST_IDS_OPTION = "--ids";
+    private static final int FIRST_TASK_NUMBER = 1;
+    private static final char TASK_NUMBER_SEPARATOR = ',';
+    private static final char RANGE_SEPARATOR = '-';
+    private static final int DEFAULT_UPCOMING_DAYS = 7;
+    private static final int DURING_DATE_PARTS = 2;
+    private static final CommandRegistry COMMANDS = CommandRegistry.withBuiltInCommands();
 
     /**
      * Parses user input and executes the corresponding command.
@@ -38,49 +48,77 @@ public class Parser {
      * @return String response to be displayed in the GUI.
      */
     public static String parseAndExecute(String input, Performative performative, Ui ui) {
-        if (input.equals("bye")) {
-            return ui.getByeMessage();
-        } else if (input.equals("list")) {
-            return performative.listTasks();
-        } else if (input.startsWith("mark ") || input.startsWith("unmark ")) {
-            return parseMarkUnmark(input, performative, ui);
-        } else if (input.startsWith("delete ")) {
-            return parseDelete(input, performative, ui);
-        } else if (input.startsWith("find ")) {
-            return parseFind(input, performative, ui);
-        } else if (input.startsWith("deadline ") || input.startsWith("event ") || input.startsWith("todo ")) {
-            return performative.addTask(input);
-        } else {
+        Command command = findCommand(input);
+        if (command == null) {
             return ui.getUnsupportedCommandMessage();
         }
+        return command.execute(getArguments(input), performative, ui);
+    }
+
+    /**
+     * Returns the command named by the first word of the input.
+     *
+     * @param input User input string containing the command.
+     * @return The command, or null if the first word does not name a command.
+     */
+    public static Command findCommand(String input) {
+        return COMMANDS.find(input);
+    }
+
+    /**
+     * Returns the command word of the input: its first word.
+     *
+     * @param input User input string containing the command.
+     * @return The command word.
+     */
+    public static String getCommandWord(String input) {
+        return CommandRegistry.getWord(input);
+    }
+
+    /**
+     * Returns the part of the input after the command word, without surrounding whitespace.
+     *
+     * @param input User input string containing the command.
+     * @return The arguments of the command, or an empty string if there are none.
+     */
+    public static String getArguments(String input) {
+        int spaceIndex = input.indexOf(' ');
+        return spaceIndex == NOT_FOUND ? "" : input.substring(spaceIndex + 1).trim();
     }
 
     /**
      * Parses and executes mark or unmark commands.
      * Returns a string response for the GUI.
      *
-     * @param input User input string containing mark/unmark command.
+     * @param arguments The task number or task ID to mark or unmark, or a list of task numbers and ranges.
+     * @param isMark True to mark the task as done, false to mark it as not done.
      * @param performative The main Performative application instance.
      * @param ui The user interface instance for generating messages.
      * @return String response for the GUI.
      */
-    private static String parseMarkUnmark(String input, Performative performative, Ui ui) {
-        String[] parts = input.split(" ");
-        if (parts.length == EXPECTED_COMMAND_PARTS) {
-            try {
-                int taskNumber = Integer.parseInt(parts[TASK_NUMBER_INDEX]);
-                if (input.startsWith("mark ")) {
-                    return performative.markTask(taskNumber);
-                } else {
-                    return performative.unmarkTask(taskNumber);
-                }
-            } catch (NumberFormatException e) {
-                return ui.getInvalidNumberFormatMessage();
-            } catch (IndexOutOfBoundsException e) {
-                return ui.getInvalidTaskNumberMessage(performative.getTaskCount());
+    static String parseMarkUnmark(String arguments, boolean isMark, Performative performative, Ui ui) {
+        try {
+            if (isTaskNumberList(arguments)) {
+                int[] taskNumbers = parseTaskNumbers(arguments, performative.getTaskCount());
+                return isMark ? performative.markTasks(taskNumbers) : performative.unmarkTasks(taskNumbers);
             }
-        } else {
-            return ui.getInvalidMarkCommandMessage();
+            if (!isSingleWord(arguments)) {
+                return ui.getInvalidMarkCommandMessage();
+            }
+            if (isTaskId(arguments)) {
+                int id = parseTaskId(arguments);
+                return isMark ? performative.markTaskById(id) : performative.unmarkTaskById(id);
+            }
+            int taskNumber = Integer.parseInt(arguments);
+            if (isMark) {
+                return performative.markTask(taskNumber);
+            } else {
+                return performative.unmarkTask(taskNumber);
+            }
+        } catch (NumberFormatException e) {
+            return ui.getInvalidNumberFormatMessage();
+        } catch (IndexOutOfBoundsException e) {
+            return ui.getInvalidTaskNumberMessage(performative.getTaskCount());
         }
     }
 
@@ -88,87 +126,283 @@ public class Parser {
      * Parses and executes delete commands.
      * Returns a string response for the GUI.
      *
-     * @param input User input string containing delete command.
+     * @param arguments The task number or task ID to delete, or a list of task numbers and ranges.
      * @param performative The main Performative application instance.
      * @param ui The user interface instance for generating messages.
      * @return String response for the GUI.
      */
-    private static String parseDelete(String input, Performative performative, Ui ui) {
-        String[] parts = input.split(" ");
-        if (parts.length == EXPECTED_COMMAND_PARTS) {
-            try {
-                int taskNumber = Integer.parseInt(parts[TASK_NUMBER_INDEX]);
-                return performative.deleteTask(taskNumber);
-            } catch (NumberFormatException e) {
-                return ui.getInvalidNumberFormatMessage();
-            } catch (IndexOutOfBoundsException e) {
-                return ui.getInvalidTaskNumberMessage(performative.getTaskCount());
+    static String parseDelete(String arguments, Performative performative, Ui ui) {
+        try {
+            if (isTaskNumberList(arguments)) {
+                return performative.deleteTasks(parseTaskNumbers(arguments, performative.getTaskCount()));
             }
-        } else {
-            return ui.getInvalidDeleteCommandMessage();
+            if (!isSingleWord(arguments)) {
+                return ui.getInvalidDeleteCommandMessage();
+            }
+            if (isTaskId(arguments)) {
+                return performative.deleteTaskById(parseTaskId(arguments));
+            }
+            int taskNumber = Integer.parseInt(arguments);
+            return performative.deleteTask(taskNumber);
+        } catch (NumberFormatException e) {
+            return ui.getInvalidNumberFormatMessage();
+        } catch (IndexOutOfBoundsException e) {
+            return ui.getInvalidTaskNumberMessage(performative.getTaskCount());
         }
     }
 
     /**
-     * Parses task creation input and creates the appropriate task object.
-     * Supports todo, deadline, and event task types.
+     * Parses and executes list commands, with no arguments or with a page number or a range of tasks.
+     * Supports "list <page>" and "list --from <task_number> --limit <count>", where either option may be left out.
+     * Any of these may also be given "--ids" to show each task's persistent ID.
+     * Writes the response to the output as it is produced.
      *
-     * @param input User input string containing task details.
-     * @return The created Task object.
-     * @throws PerformativeException If the input format is invalid or required fields are missing.
+     * @param arguments The page number, range or ID options, or an empty string to list every task.
+     * @param performative The main Performative application instance.
+     * @param ui The user interface instance for generating messages.
+     * @param out The output to write the response to.
+     * @throws IOException If the output cannot be written to.
      */
-    public static Task parseTask(String input) throws PerformativeException {
-        if (input.startsWith("todo")) {
-            return parseTodo(input);
-        } else if (input.startsWith("deadline")) {
-            return parseDeadline(input);
-        } else if (input.startsWith("event")) {
-            return parseEvent(input);
+    static void parseList(String arguments, Performative performative, Ui ui, Appendable out) throws IOException {
+        ArrayList<String> parts = new ArrayList<>();
+        boolean isShowingIds = false;
+        for (String part : arguments.isEmpty() ? new String[0] : arguments.split("\\s+")) {
+            if (part.equals(LIST_IDS_OPTION)) {
+                isShowingIds = true;
+            } else {
+                parts.add(part);
+            }
         }
-        return new Task(input);
+        if (parts.isEmpty()) {
+            performative.listTasks(isShowingIds, out);
+            return;
+        }
+
+        int firstTaskNumber = FIRST_TASK_NUMBER;
+        int limit = Ui.LIST_PAGE_SIZE;
+        try {
+            if (parts.size() == LIST_PAGE_PARTS && !parts.get(LIST_PAGE_NUMBER_INDEX).startsWith("--")) {
+                performative.listTaskPage(Integer.parseInt(parts.get(LIST_PAGE_NUMBER_INDEX)), isShowingIds, out);
+                return;
+            }
+
+            for (int i = 0; i < parts.size(); i += 2) {
+                if (i + 1 >= parts.size()) {
+                    out.append(ui.getInvalidListCommandMessage());
+                    return;
+                }
+                if (parts.get(i).equals("--from")) {
+                    firstTaskNumber = Integer.parseInt(parts.get(i + 1));
+                } else if (parts.get(i).equals("--limit")) {
+                    limit = Integer.parseInt(parts.get(i + 1));
+                } else {
+                    out.append(ui.getInvalidListCommandMessage());
+                    return;
+                }
+            }
+        } catch (NumberFormatException e) {
+            out.append(ui.getInvalidNumberFormatMessage());
+            return;
+        }
+        if (limit <= 0) {
+            out.append(ui.getInvalidListCommandMessage());
+            return;
+        }
+        performative.listTasks(firstTaskNumber, limit, isShowingIds, out);
     }
 
     /**
      * Parses and executes find commands.
      * Returns a string response for the GUI.
      *
-     * @param input User input string containing find command.
+     * @param arguments The keyword to search for.
      * @param performative The main Performative application instance.
      * @param ui The user interface instance for generating messages.
      * @return String response for the GUI.
      */
-    private static String parseFind(String input, Performative performative, Ui ui) {
-        String keyword = input.substring(FIND_KEYWORD_START_INDEX).trim();
-        if (keyword.isEmpty()) {
+    static String parseFind(String arguments, Performative performative, Ui ui) {
+        if (arguments.isEmpty()) {
             return ui.getEmptyFindKeywordMessage();
         } else {
-            return performative.findTasks(keyword);
+            return performative.findTasks(arguments);
         }
     }
 
-    private static Task parseTodo(String input) throws PerformativeException {
-        if (input.equals("todo")) {
-            throw new PerformativeException("The description of a todo cannot be empty");
+    /**
+     * Parses and executes search commands, which rank tasks by how closely they match the query.
+     * Returns a string response for the GUI.
+     *
+     * @param arguments The text to search for.
+     * @param performative The main Performative application instance.
+     * @param ui The user interface instance for generating messages.
+     * @return String response for the GUI.
+     */
+    static String parseSearch(String arguments, Performative performative, Ui ui) {
+        if (arguments.isEmpty()) {
+            return ui.getEmptySearchQueryMessage();
         }
-        String description = input.substring(TODO_DESCRIPTION_START_INDEX).trim();
-        if (description.isEmpty()) {
+        return performative.searchTasks(arguments);
+    }
+
+    /**
+     * Parses and executes due commands, which show the deadlines and events on a date.
+     * Returns a string response for the GUI.
+     *
+     * @param arguments The date to look at.
+     * @param performative The main Performative application instance.
+     * @param ui The user interface instance for generating messages.
+     * @return String response for the GUI.
+     */
+    static String parseDue(String arguments, Performative performative, Ui ui) {
+        try {
+            return performative.findTasksDue(DateTimeParser.parseDate(arguments));
+        } catch (DateTimeParseException e) {
+            return ui.getInvalidScheduleCommandMessage();
+        }
+    }
+
+    /**
+     * Parses and executes upcoming commands, which show unfinished deadlines and events in the next few days.
+     * Looks a week ahead when no number of days is given.
+     * Returns a string response for the GUI.
+     *
+     * @param arguments The number of days to look ahead, or an empty string.
+     * @param performative The main Performative application instance.
+     * @param ui The user interface instance for generating messages.
+     * @return String response for the GUI.
+     */
+    static String parseUpcoming(String arguments, Performative performative, Ui ui) {
+        if (arguments.isEmpty()) {
+            return performative.findUpcomingTasks(DEFAULT_UPCOMING_DAYS);
+        }
+        try {
+            int days = Integer.parseInt(arguments);
+            if (days <= 0) {
+                return ui.getInvalidScheduleCommandMessage();
+            }
+            return performative.findUpcomingTasks(days);
+        } catch (NumberFormatException e) {
+            return ui.getInvalidNumberFormatMessage();
+        }
+    }
+
+    /**
+     * Parses and executes during commands, which show the deadlines and events from one date to another.
+     * Returns a string response for the GUI.
+     *
+     * @param arguments The first and last dates to look at, separated by whitespace.
+     * @param performative The main Performative application instance.
+     * @param ui The user interface instance for generating messages.
+     * @return String response for the GUI.
+     */
+    static String parseDuring(String arguments, Performative performative, Ui ui) {
+        String[] dates = arguments.split("\\s+");
+        if (dates.length != DURING_DATE_PARTS) {
+            return ui.getInvalidScheduleCommandMessage();
+        }
+        try {
+            LocalDate from = DateTimeParser.parseDate(dates[0]);
+            LocalDate to = DateTimeParser.parseDate(dates[1]);
+            if (to.isBefore(from)) {
+                return ui.getInvalidScheduleCommandMessage();
+            }
+            return performative.findTasksDuring(from, to);
+        } catch (DateTimeParseException e) {
+            return ui.getInvalidScheduleCommandMessage();
+        }
+    }
+
+    /**
+     * Returns whether the arguments are a list of task numbers and ranges rather than a single task.
+     */
+    private static boolean isTaskNumberList(String arguments) {
+        return !isTaskId(arguments)
+                && (arguments.indexOf(TASK_NUMBER_SEPARATOR) != NOT_FOUND || arguments.indexOf(RANGE_SEPARATOR) > 0);
+    }
+
+    /**
+     * Parses a list of task numbers and ranges, such as "3,7,9-20", into ascending task numbers without repeats.
+     *
+     * @param arguments Comma-separated task numbers and inclusive ranges of task numbers.
+     * @param maxTaskNumber The largest valid task number.
+     * @return The task numbers in ascending order.
+     * @throws NumberFormatException If a part of the list is not a number or a range.
+     * @throws IndexOutOfBoundsException If a task number is out of range, or a range ends before it starts.
+     */
+    static int[] parseTaskNumbers(String arguments, int maxTaskNumber) {
+        BitSet taskNumbers = new BitSet(maxTaskNumber + 1);
+        for (String part : arguments.split(String.valueOf(TASK_NUMBER_SEPARATOR))) {
+            int separatorIndex = part.indexOf(RANGE_SEPARATOR);
+            int first;
+            int last;
+            if (separatorIndex == NOT_FOUND) {
+                first = Integer.parseInt(part.trim());
+                last = first;
+            } else {
+                first = Integer.parseInt(part.substring(0, separatorIndex).trim());
+                last = Integer.parseInt(part.substring(separatorIndex + 1).trim());
+            }
+            if (first < FIRST_TASK_NUMBER || last > maxTaskNumber || first > last) {
+                throw new IndexOutOfBoundsException("Task numbers " + part + " are not between 1 and "
+                        + maxTaskNumber);
+            }
+            taskNumbers.set(first, last + 1);
+        }
+        return taskNumbers.stream().toArray();
+    }
+
+    private static boolean isSingleWord(String arguments) {
+        return !arguments.isEmpty() && arguments.indexOf(' ') == NOT_FOUND;
+    }
+
+    private static boolean isTaskId(String target) {
+        return target.startsWith(TASK_ID_PREFIX);
+    }
+
+    private static int parseTaskId(String target) throws NumberFormatException {
+        return Integer.parseInt(target.substring(TASK_ID_PREFIX.length()));
+    }
+
+    /**
+     * Parses task creation input and creates the appropriate task object.
+     * Supports todo, deadline, and event task types.
+     *
+     * @param input User input string containing task details.
+     * @return The created Task object.
+     * @throws PerformativeException If the input format is invalid or required fields are missing.
+     */
+    public static Task parseTask(String input) throws PerformativeException {
+        Command command = findCommand(input);
+        if (command == BuiltInCommand.TODO) {
+            return parseTodo(getArguments(input));
+        } else if (command == BuiltInCommand.DEADLINE) {
+            return parseDeadline(getArguments(input));
+        } else if (command == BuiltInCommand.EVENT) {
+            return parseEvent(getArguments(input));
+        }
+        return new Task(input);
+    }
+
+    static Task parseTodo(String arguments) throws PerformativeException {
+        if (arguments.isEmpty()) {
             throw new PerformativeException("The description of a todo cannot be empty");
         }
-        return new Todo(description);
+        return new Todo(arguments);
     }
 
-    private static Task parseDeadline(String input) throws PerformativeException {
-        validateDeadlineInput(input);
-        String remaining = extractRemainingContent(input, DEADLINE_PREFIX_LENGTH);
+    static Task parseDeadline(String arguments) throws PerformativeException {
+        if (arguments.isEmpty()) {
+            throw new PerformativeException("The description of a deadline cannot be empty");
+        }
 
-        int byIndex = remaining.indexOf(" /by ");
+        int byIndex = arguments.indexOf(" /by ");
         if (byIndex == NOT_FOUND) {
             throw new PerformativeException(
                     "Deadline format should be: deadline <description> /by <time>");
         }
 
-        String description = remaining.substring(0, byIndex).trim();
-        String by = remaining.substring(byIndex + BY_KEYWORD_LENGTH).trim();
+        String description = arguments.substring(0, byIndex).trim();
+        String by = arguments.substring(byIndex + BY_KEYWORD_LENGTH).trim();
 
         validateDeadlineComponents(description, by);
 
@@ -182,21 +416,22 @@ public class Parser {
         }
     }
 
-    private static Task parseEvent(String input) throws PerformativeException {
-        validateEventInput(input);
-        String remaining = extractRemainingContent(input, EVENT_PREFIX_LENGTH);
+    static Task parseEvent(String arguments) throws PerformativeException {
+        if (arguments.isEmpty()) {
+            throw new PerformativeException("The description of an event cannot be empty");
+        }
 
-        int fromIndex = remaining.indexOf(" /from ");
-        int toIndex = remaining.indexOf(" /to ");
+        int fromIndex = arguments.indexOf(" /from ");
+        int toIndex = arguments.indexOf(" /to ");
 
         if (!isValidEventFormat(fromIndex, toIndex)) {
             throw new PerformativeException("Invalid event format, should be: "
                     + "event <description> /from <from> /to <to>");
         }
 
-        String description = remaining.substring(0, fromIndex).trim();
-        String from = remaining.substring(fromIndex + FROM_KEYWORD_LENGTH, toIndex).trim();
-        String to = remaining.substring(toIndex + TO_KEYWORD_LENGTH).trim();
+        String description = arguments.substring(0, fromIndex).trim();
+        String from = arguments.substring(fromIndex + FROM_KEYWORD_LENGTH, toIndex).trim();
+        String to = arguments.substring(toIndex + TO_KEYWORD_LENGTH).trim();
 
         validateEventComponents(description, from, to);
 
@@ -209,27 +444,6 @@ public class Parser {
         }
     }
 
-    private static void validateDeadlineInput(String input) throws PerformativeException {
-        if (input.equals("deadline")) {
-            throw new PerformativeException("The description of a deadline cannot be empty");
-        }
-    }
-
-    private static void validateEventInput(String input) throws PerformativeException {
-        if (input.equals("event")) {
-            throw new PerformativeException("The description of an event cannot be empty");
-        }
-    }
-
-    private static String extractRemainingContent(String input, int prefixLength) throws PerformativeException {
-        String remaining = input.substring(prefixLength).trim();
-        if (remaining.isEmpty()) {
-            String taskType = prefixLength == DEADLINE_PREFIX_LENGTH ? "deadline" : "event";
-            throw new PerformativeException("The description of a " + taskType + " cannot be empty");
-        }
-        return remaining;
-    }
-
     private static void validateDeadlineComponents(String description, String by) throws PerformativeException {
         if (description.isEmpty()) {
             throw new PerformativeException("The description of a deadline cannot be empty");
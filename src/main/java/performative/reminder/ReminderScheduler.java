@@ -0,0 +1,181 @@
+package performative.reminder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import performative.tasks.Deadline;
+import performative.tasks.Event;
+import performative.tasks.Task;
+import performative.tasks.TaskList;
+import performative.tasks.TaskListListener;
+import performative.time.TaskClock;
+import performative.ui.Ui;
+
+/**
+ * Reminds the user shortly before unfinished deadlines are due and events start.
+ * All reminders wait in one timer queue ordered by when they fire, served by a single thread
+ * that sleeps until the earliest one is due, so pending reminders cost no CPU while idle.
+ * The queue is kept up to date from the task list's change notifications rather than by rescanning the list.
+ */
+public class ReminderScheduler implements TaskListListener {
+    /** How long before a deadline or the start of an event its reminder fires. */
+    public static final Duration DEFAULT_LEAD_TIME = Duration.ofMinutes(30);
+
+    private final Consumer<String> output;
+    private final Ui ui;
+    private final Duration leadTime;
+    private final HashMap<Integer, Reminder> remindersByTaskId = new HashMap<>();
+    private final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "reminder-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Constructs a scheduler that sends reminders to the given output.
+     *
+     * @param output Receives each reminder message, on the timer thread.
+     * @param ui The user interface instance for generating messages.
+     * @param leadTime How long before a deadline or the start of an event its reminder fires.
+     */
+    public ReminderScheduler(Consumer<String> output, Ui ui, Duration leadTime) {
+        this.output = output;
+        this.ui = ui;
+        this.leadTime = leadTime;
+        // Cancelled reminders are taken off the queue straight away, so deleted tasks do not pile up in it
+        timer.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Schedules reminders for the tasks already in the list, and keeps them up to date as the list changes.
+     *
+     * @param taskList The task list to remind the user about.
+     */
+    public void watch(TaskList taskList) {
+        // Listen first, so a task added while the existing ones are scheduled is not missed
+        taskList.addListener(this);
+        for (Task task : taskList.getTasks()) {
+            scheduleIfListed(taskList, task);
+        }
+    }
+
+    /**
+     * Cancels every pending reminder and stops the timer thread.
+     */
+    public synchronized void stop() {
+        timer.shutdownNow();
+        remindersByTaskId.clear();
+    }
+
+    /**
+     * Returns the number of reminders waiting to fire.
+     */
+    synchronized int getPendingReminderCount() {
+        return remindersByTaskId.size();
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        schedule(task);
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        cancel(task);
+    }
+
+    @Override
+    public void taskDoneChanged(Task task) {
+        if (task.isDone()) {
+            cancel(task);
+        } else {
+            schedule(task);
+        }
+    }
+
+    /**
+     * Queues a reminder for the task, replacing any it already has.
+     * Finished tasks, tasks without a time, and tasks whose time has passed are not reminded about.
+     * A task whose reminder time has passed but whose own time has not is reminded about straight away.
+     */
+    private synchronized void schedule(Task task) {
+        LocalDateTime dueTime = getDueTime(task);
+        if (task.isDone() || dueTime == null) {
+            return;
+        }
+        LocalDateTime now = TaskClock.now();
+        if (!dueTime.isAfter(now)) {
+            return;
+        }
+
+        long delayMillis = Math.max(0, Duration.between(now, dueTime.minus(leadTime)).toMillis());
+        Reminder reminder = new Reminder(task);
+        reminder.future = timer.schedule(reminder, delayMillis, TimeUnit.MILLISECONDS);
+        Reminder replaced = remindersByTaskId.put(task.getId(), reminder);
+        if (replaced != null) {
+            replaced.future.cancel(false);
+        }
+    }
+
+    /**
+     * Queues a reminder for a task from a snapshot of the list, unless it has left the list since.
+     * A task deleted or finished after the check is cancelled by its change notification, which waits for this lock,
+     * so a stale snapshot never leaves a reminder behind for a task that no longer needs one.
+     */
+    private synchronized void scheduleIfListed(TaskList taskList, Task task) {
+        if (taskList.getTaskById(task.getId()) == task) {
+            schedule(task);
+        }
+    }
+
+    private synchronized void cancel(Task task) {
+        Reminder reminder = remindersByTaskId.remove(task.getId());
+        if (reminder != null) {
+            reminder.future.cancel(false);
+        }
+    }
+
+    /**
+     * Returns when a deadline is due or an event starts, or null for tasks without a time.
+     */
+    private static LocalDateTime getDueTime(Task task) {
+        if (task instanceof Deadline) {
+            return ((Deadline) task).getBy();
+        } else if (task instanceof Event) {
+            return ((Event) task).getStart();
+        }
+        return null;
+    }
+
+    /**
+     * A queued reminder for one task.
+     * Fires only if it is still the task's current reminder, so a replaced or cancelled one that was
+     * already running when it was replaced stays quiet.
+     */
+    private class Reminder implements Runnable {
+        private final Task task;
+        private ScheduledFuture<?> future;
+
+        Reminder(Task task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            // Also waits for schedule() to finish setting the future of a reminder that fires immediately
+            synchronized (ReminderScheduler.this) {
+                if (!remindersByTaskId.remove(task.getId(), this)) {
+                    return;
+                }
+            }
+            if (!task.isDone()) {
+                output.accept(ui.getReminderMessage(task));
+            }
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package performative.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import performative.Performative;
+import performative.metrics.Metrics;
+
+/**
+ * Serves one Performative instance to several clients at once over a local socket.
+ * Clients send one command per line. Each response, starting with the welcome message sent on connecting,
+ * is followed by a line holding a single ".", and response lines that start with "." get an extra "." in front.
+ * Each connection is handled on its own thread, so a slow client never holds up the others.
+ * Reminders for upcoming deadlines and events are printed to standard output.
+ *
+ * <p>Usage: {@code CommandServer [--save-file <path>] [--port <port> | --socket <path>]}
+ */
+public class CommandServer {
+    static final String END_OF_RESPONSE = ".";
+    static final int DEFAULT_PORT = 4444;
+
+    private static final String DEFAULT_SAVE_FILE = "./data/savefile.txt";
+
+    private final Performative performative;
+    private final ServerSocketChannel serverChannel;
+    private final AtomicInteger sessionCount = new AtomicInteger();
+    private final ExecutorService sessions = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "session-" + sessionCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Constructs a server that listens for clients at the given address.
+     *
+     * @param performative The application instance that executes every client's commands.
+     * @param address The loopback TCP address or Unix domain socket address to listen at.
+     * @throws IOException If the server cannot listen at the address.
+     */
+    public CommandServer(Performative performative, SocketAddress address) throws IOException {
+        this.performative = performative;
+        if (address instanceof UnixDomainSocketAddress) {
+            Files.deleteIfExists(((UnixDomainSocketAddress) address).getPath());
+            serverChannel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        } else {
+            serverChannel = ServerSocketChannel.open();
+        }
+        serverChannel.bind(address);
+    }
+
+    /**
+     * Starts the server described by the command-line arguments and serves clients until the process ends.
+     *
+     * @param args Command-line options.
+     */
+    public static void main(String[] args) {
+        String saveFile = DEFAULT_SAVE_FILE;
+        SocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), DEFAULT_PORT);
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                case "--save-file":
+                    saveFile = args[++i];
+                    break;
+                case "--port":
+                    address = new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(args[++i]));
+                    break;
+                case "--socket":
+                    address = UnixDomainSocketAddress.of(Path.of(args[++i]));
+                    break;
+                default:
+                    throw new IllegalArgumentException(args[i]);
+                }
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println("Usage: CommandServer [--save-file <path>] [--port <port> | --socket <path>]");
+            System.exit(1);
+        }
+
+        Metrics.startDumpingIfConfigured();
+        try (Performative performative = new Performative(saveFile)) {
+            CommandServer server = new CommandServer(performative, address);
+            System.err.println("Serving " + saveFile + " at " + server.getAddress());
+            // There is no window to show reminders in, so they go to the server's own output
+            performative.startReminders(System.out::println);
+            server.serve();
+        } catch (IOException e) {
+            System.err.println("Server failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Returns the address the server is listening at.
+     *
+     * @return The bound address.
+     * @throws IOException If the server has been closed.
+     */
+    public SocketAddress getAddress() throws IOException {
+        return serverChannel.getLocalAddress();
+    }
+
+    /**
+     * Accepts clients until the server is closed, handling each one on its own thread.
+     *
+     * @throws IOException If accepting a client fails for a reason other than the server being closed.
+     */
+    public void serve() throws IOException {
+        while (serverChannel.isOpen()) {
+            SocketChannel client;
+            try {
+                client = serverChannel.accept();
+            } catch (IOException e) {
+                if (!serverChannel.isOpen()) {
+                    return;
+                }
+                throw e;
+            }
+            sessions.execute(() -> handleClient(client));
+        }
+    }
+
+    /**
+     * Stops accepting clients and closes the listening socket. Connected clients are served until they leave.
+     *
+     * @throws IOException If the socket cannot be closed.
+     */
+    public void close() throws IOException {
+        SocketAddress address = serverChannel.getLocalAddress();
+        serverChannel.close();
+        if (address instanceof UnixDomainSocketAddress) {
+            Files.deleteIfExists(((UnixDomainSocketAddress) address).getPath());
+        }
+    }
+
+    private void handleClient(SocketChannel client) {
+        try {
+            BufferedReader input = new BufferedReader(Channels.newReader(client, StandardCharsets.UTF_8));
+            BufferedWriter output = new BufferedWriter(Channels.newWriter(client, StandardCharsets.UTF_8));
+            writeResponse(output, performative.getWelcomeMessage());
+
+            String command = input.readLine();
+            while (command != null) {
+                performative.writeResponse(command, new EscapingAppendable(output));
+                endResponse(output);
+                if (command.trim().equals("bye")) {
+                    break;
+                }
+                command = input.readLine();
+            }
+        } catch (IOException e) {
+            // The client went away mid-command; there is nobody left to tell
+            return;
+        } finally {
+            closeQuietly(client);
+        }
+    }
+
+    private static void closeQuietly(SocketChannel client) {
+        try {
+            client.close();
+        } catch (IOException e) {
+            return;
+        }
+    }
+
+    /**
+     * Writes a response followed by the end-of-response line, escaping lines that start with a ".".
+     */
+    static void writeResponse(BufferedWriter output, String response) throws IOException {
+        new EscapingAppendable(output).append(response);
+        endResponse(output);
+    }
+
+    /**
+     * Ends the response written so far with the end-of-response line, and sends it.
+     */
+    private static void endResponse(BufferedWriter output) throws IOException {
+        output.newLine();
+        output.write(END_OF_RESPONSE);
+        output.newLine();
+        output.flush();
+    }
+
+    /**
+     * Reads one response written by {@link #writeResponse}, or returns null if the connection has ended.
+     */
+    static String readResponse(BufferedReader input) throws IOException {
+        StringJoiner response = new StringJoiner("\n");
+        String line = input.readLine();
+        while (line != null && !line.equals(END_OF_RESPONSE)) {
+            response.add(line.startsWith(END_OF_RESPONSE) ? line.substring(END_OF_RESPONSE.length()) : line);
+            line = input.readLine();
+        }
+        return line == null ? null : response.toString();
+    }
+
+    /**
+     * Writes one response to the output as it is produced, putting an extra "." in front of lines that start with one,
+     * so that no response line can be mistaken for the end-of-response line.
+     */
+    private static class EscapingAppendable implements Appendable {
+        private final BufferedWriter output;
+        private boolean isAtLineStart = true;
+
+        private EscapingAppendable(BufferedWriter output) {
+            this.output = output;
+        }
+
+        @Override
+        public Appendable append(CharSequence text) throws IOException {
+            return append(text, 0, text.length());
+        }
+
+        @Override
+        public Appendable append(CharSequence text, int start, int end) throws IOException {
+            int lineStart = start;
+            for (int i = start; i < end; i++) {
+                if (isAtLineStart && text.charAt(i) == END_OF_RESPONSE.charAt(0)) {
+                    output.append(text, lineStart, i).append(END_OF_RESPONSE);
+                    lineStart = i;
+                }
+                isAtLineStart = text.charAt(i) == '\n';
+            }
+            output.append(text, lineStart, end);
+            return this;
+        }
+
+        @Override
+        public Appendable append(char c) throws IOException {
+            if (isAtLineStart && c == END_OF_RESPONSE.charAt(0)) {
+                output.write(END_OF_RESPONSE);
+            }
+            output.write(c);
+            isAtLineStart = c == '\n';
+            return this;
+        }
+    }
+}
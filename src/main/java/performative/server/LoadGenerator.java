@@ -0,0 +1,162 @@
+package performative.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Drives a running {@link CommandServer} with several concurrent clients and reports throughput and latency.
+ * Each client sends a fixed mix of commands: mostly lists and finds, with a task added every few commands.
+ *
+ * <p>Usage: {@code LoadGenerator [--port <port> | --socket <path>] [--clients <n>] [--commands <n per client>]}
+ */
+public class LoadGenerator {
+    private static final int DEFAULT_CLIENTS = 8;
+    private static final int DEFAULT_COMMANDS = 1_000;
+    private static final String[] COMMAND_MIX = {
+        "list", "find matcha", "list --from 1 --limit 20", "find tote", "todo buy oat milk", "find therapy",
+    };
+    private static final double NANOS_PER_MILLI = 1e6;
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    /**
+     * Runs the load described by the command-line arguments and prints a summary.
+     *
+     * @param args Command-line options.
+     */
+    public static void main(String[] args) {
+        SocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), CommandServer.DEFAULT_PORT);
+        int clientCount = DEFAULT_CLIENTS;
+        int commandsPerClient = DEFAULT_COMMANDS;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                case "--port":
+                    address = new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(args[++i]));
+                    break;
+                case "--socket":
+                    address = UnixDomainSocketAddress.of(Path.of(args[++i]));
+                    break;
+                case "--clients":
+                    clientCount = Integer.parseInt(args[++i]);
+                    break;
+                case "--commands":
+                    commandsPerClient = Integer.parseInt(args[++i]);
+                    break;
+                default:
+                    throw new IllegalArgumentException(args[i]);
+                }
+            }
+            // Latency percentiles need at least one command to have been timed
+            if (clientCount < 1 || commandsPerClient < 1) {
+                throw new IllegalArgumentException("Clients and commands must be at least 1");
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println("Usage: LoadGenerator [--port <port> | --socket <path>] [--clients <n>]"
+                    + " [--commands <n per client>]");
+            System.exit(1);
+        }
+
+        try {
+            System.out.println(run(address, clientCount, commandsPerClient));
+        } catch (IOException e) {
+            System.err.println("Load run failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Connects the given number of clients to the server, has each send its share of commands,
+     * and returns a summary of commands per second and response latency percentiles.
+     *
+     * @param address The address the server is listening at.
+     * @param clientCount Number of concurrent clients, at least 1.
+     * @param commandsPerClient Number of commands each client sends, at least 1.
+     * @return Summary of the run.
+     * @throws IOException If a client cannot talk to the server.
+     */
+    public static String run(SocketAddress address, int clientCount, int commandsPerClient) throws IOException {
+        assert clientCount >= 1 && commandsPerClient >= 1 : "At least one command must be sent";
+        ExecutorService clients = Executors.newFixedThreadPool(clientCount);
+        List<Future<long[]>> results = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < clientCount; i++) {
+            results.add(clients.submit(createClient(address, commandsPerClient)));
+        }
+
+        long[] latencies = new long[clientCount * commandsPerClient];
+        try {
+            for (int i = 0; i < clientCount; i++) {
+                System.arraycopy(results.get(i).get(), 0, latencies, i * commandsPerClient, commandsPerClient);
+            }
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for clients", e);
+        } finally {
+            clients.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        return String.format("%d clients, %d commands in %.2f s: %.0f commands/s,"
+                + " p50 %.3f ms, p99 %.3f ms, max %.3f ms",
+                clientCount, latencies.length, elapsed / NANOS_PER_SECOND,
+                latencies.length * NANOS_PER_SECOND / elapsed,
+                getPercentile(latencies, 50) / NANOS_PER_MILLI,
+                getPercentile(latencies, 99) / NANOS_PER_MILLI,
+                latencies[latencies.length - 1] / NANOS_PER_MILLI);
+    }
+
+    private static Callable<long[]> createClient(SocketAddress address, int commandCount) {
+        return () -> {
+            SocketChannel channel = SocketChannel.open(address);
+            try {
+                BufferedReader input = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+                BufferedWriter output = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+                CommandServer.readResponse(input);
+
+                long[] latencies = new long[commandCount];
+                for (int i = 0; i < commandCount; i++) {
+                    long sent = System.nanoTime();
+                    output.write(COMMAND_MIX[i % COMMAND_MIX.length]);
+                    output.newLine();
+                    output.flush();
+                    if (CommandServer.readResponse(input) == null) {
+                        throw new IOException("Server closed the connection");
+                    }
+                    latencies[i] = System.nanoTime() - sent;
+                }
+                output.write("bye");
+                output.newLine();
+                output.flush();
+                CommandServer.readResponse(input);
+                return latencies;
+            } finally {
+                channel.close();
+            }
+        };
+    }
+
+    private static long getPercentile(long[] sortedValues, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sortedValues.length) - 1;
+        return sortedValues[Math.max(index, 0)];
+    }
+}
@@ -0,0 +1,675 @@
+package performative.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import performative.metrics.Metrics;
+import performative.tasks.Deadline;
+import performative.tasks.Event;
+import performative.tasks.Task;
+import performative.tasks.Todo;
+
+/**
+ * Handles binary file storage operations for the Performative application.
+ * Tasks are stored as fixed-width records with epoch-minute timestamps, and descriptions are kept
+ * in a separate interned string table. Loading only maps the files into memory; each task is
+ * materialised when it is first accessed. The application's task list reads no task when it is built,
+ * so startup decodes no record; its indexes decode every task afterwards, in the background.
+ * Changes are written in place: marking a task flips a
+ * flag byte, deleting leaves a tombstone, and adding appends a record. Writes go straight to the
+ * file; unless the durability is write-behind, each write is also forced to disk.
+ * Once enough tasks have been deleted, a fresh snapshot without the tombstones is written on a background thread.
+ * Changes made meanwhile are written to the snapshot too, just before it replaces the save files.
+ */
+public class BinaryStorage implements TaskStorage {
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 32;
+
+    private static final int RECORD_MAGIC = 0x50465442;
+    private static final int STRING_TABLE_MAGIC = 0x50465453;
+    private static final short FORMAT_VERSION = 1;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int GENERATION_OFFSET = 8;
+
+    private static final int ID_OFFSET = 0;
+    private static final int TYPE_OFFSET = 4;
+    private static final int FLAGS_OFFSET = 5;
+    private static final int DESCRIPTION_OFFSET = 8;
+    private static final int FIRST_TIME_OFFSET = 16;
+    private static final int SECOND_TIME_OFFSET = 24;
+    private static final int STRING_LENGTH_SIZE = 4;
+
+    private static final byte TYPE_TASK = 0;
+    private static final byte TYPE_TODO = 1;
+    private static final byte TYPE_DEADLINE = 2;
+    private static final byte TYPE_EVENT = 3;
+    private static final byte FLAG_DONE = 1;
+    private static final byte FLAG_DELETED = 2;
+
+    private static final String STRING_TABLE_SUFFIX = ".strings";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final long SECONDS_PER_MINUTE = 60;
+    private static final int NOT_FOUND = -1;
+    private static final int TOMBSTONE_COMPACTION_THRESHOLD = 1000;
+
+    private final File recordFile;
+    private final File stringFile;
+    private final Durability durability;
+    private FileChannel recordChannel;
+    private FileChannel stringChannel;
+    private HashMap<String, Long> stringOffsets;
+    private long generation;
+    private int tombstoneCount;
+    // Completes once the last compaction started has replaced the save files or failed
+    private volatile CompletableFuture<Void> compaction = CompletableFuture.completedFuture(null);
+    /** Changes written since the running compaction's snapshot was taken, to write into it as well, or null. */
+    private List<WriteAction> changesDuringCompaction;
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "storage-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Creates a new BinaryStorage instance with the specified file path.
+     * The string table is stored next to it, with a ".strings" suffix.
+     *
+     * @param filePath Path to the file where task records will be stored.
+     */
+    public BinaryStorage(String filePath) {
+        this(filePath, Durability.WRITE_BEHIND);
+    }
+
+    /**
+     * Creates a new BinaryStorage instance with the specified file path and durability.
+     *
+     * @param filePath Path to the file where task records will be stored.
+     * @param durability Whether each write is forced to disk.
+     */
+    public BinaryStorage(String filePath, Durability durability) {
+        this.recordFile = new File(filePath);
+        this.stringFile = new File(filePath + STRING_TABLE_SUFFIX);
+        this.durability = durability;
+    }
+
+    /**
+     * Converts a text save file into a binary save file.
+     *
+     * @param textFilePath Path to the existing text save file.
+     * @param binaryFilePath Path to the binary save file to create or overwrite.
+     * @throws IOException If either file cannot be read or written.
+     */
+    public static void importText(String textFilePath, String binaryFilePath) throws IOException {
+        List<Task> tasks;
+        try (Storage textStorage = new Storage(textFilePath)) {
+            tasks = textStorage.loadTasks();
+        }
+        try (BinaryStorage binaryStorage = new BinaryStorage(binaryFilePath)) {
+            binaryStorage.createParentDirectories();
+            binaryStorage.saveTasks(tasks);
+        }
+    }
+
+    /**
+     * Converts a binary save file into a text save file.
+     *
+     * @param binaryFilePath Path to the existing binary save file.
+     * @param textFilePath Path to the text save file to create or overwrite.
+     * @throws IOException If either file cannot be read or written.
+     */
+    public static void exportText(String binaryFilePath, String textFilePath) throws IOException {
+        try (BinaryStorage binaryStorage = new BinaryStorage(binaryFilePath);
+                Storage textStorage = new Storage(textFilePath)) {
+            List<Task> tasks = binaryStorage.loadTasks();
+            textStorage.initializeFile();
+            textStorage.saveTasks(tasks);
+        }
+    }
+
+    @Override
+    public boolean initializeFile() {
+        try {
+            createParentDirectories();
+            if (!recordFile.exists()) {
+                saveTasks(new ArrayList<>());
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void createParentDirectories() {
+        File parentDir = recordFile.getParentFile();
+        if (parentDir != null && !parentDir.exists()) {
+            parentDir.mkdirs();
+        }
+    }
+
+    @Override
+    public boolean fileExists() {
+        return recordFile.exists();
+    }
+
+    /**
+     * Maps the save files into memory and returns a view of the live tasks.
+     * Only the record flags are read up front; each task is materialised when it is first accessed.
+     * Building a {@link performative.tasks.TaskList} from the view reads no task,
+     * and its indexes read every task in the background.
+     *
+     * @return List of tasks backed by the mapped save files.
+     * @throws IOException If the files cannot be read or do not belong to the same snapshot.
+     */
+    @Override
+    public synchronized List<Task> loadTasks() throws IOException {
+        if (!recordFile.exists()) {
+            return new ArrayList<>();
+        }
+        recoverInterruptedSnapshot();
+
+        MappedByteBuffer records = map(recordFile);
+        MappedByteBuffer strings = map(stringFile);
+        checkHeader(records, RECORD_MAGIC, recordFile);
+        checkHeader(strings, STRING_TABLE_MAGIC, stringFile);
+        generation = records.getLong(GENERATION_OFFSET);
+        if (strings.getLong(GENERATION_OFFSET) != generation) {
+            throw new IOException("String table does not belong to " + recordFile.getName());
+        }
+
+        int slotCount = (records.limit() - HEADER_SIZE) / RECORD_SIZE;
+        int[] liveSlots = new int[slotCount];
+        int liveCount = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if ((records.get(recordOffset(slot) + FLAGS_OFFSET) & FLAG_DELETED) == 0) {
+                liveSlots[liveCount] = slot;
+                liveCount += 1;
+            }
+        }
+        tombstoneCount = slotCount - liveCount;
+        return new MappedTaskList(records, strings, liveSlots, liveCount);
+    }
+
+    /**
+     * Completes a snapshot that was interrupted between moving the string table and the records into place.
+     */
+    private void recoverInterruptedSnapshot() throws IOException {
+        File recordTemp = new File(recordFile.getPath() + TEMP_SUFFIX);
+        File stringTemp = new File(stringFile.getPath() + TEMP_SUFFIX);
+        if (recordTemp.exists() && stringFile.exists()
+                && readGeneration(recordTemp) == readGeneration(stringFile)) {
+            moveReplacing(recordTemp, recordFile);
+        }
+        recordTemp.delete();
+        stringTemp.delete();
+    }
+
+    private static MappedByteBuffer map(File file) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        channel.close();
+        return buffer;
+    }
+
+    private static void checkHeader(ByteBuffer buffer, int magic, File file) throws IOException {
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(MAGIC_OFFSET) != magic
+                || buffer.getShort(VERSION_OFFSET) != FORMAT_VERSION) {
+            throw new IOException(file.getName() + " is not a Performative binary save file");
+        }
+    }
+
+    private static long readGeneration(File file) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        channel.read(header, 0);
+        channel.close();
+        return header.getLong(GENERATION_OFFSET);
+    }
+
+    static int recordOffset(int slot) {
+        return HEADER_SIZE + slot * RECORD_SIZE;
+    }
+
+    /**
+     * Materialises the task stored in the given record slot.
+     *
+     * @param records Buffer holding the task records.
+     * @param strings Buffer holding the description string table.
+     * @param slot Index of the record to read.
+     * @return The task stored in the record, or null if the record type is unknown.
+     */
+    static Task readTask(ByteBuffer records, ByteBuffer strings, int slot) {
+        int offset = recordOffset(slot);
+        String description = readString(strings, records.getLong(offset + DESCRIPTION_OFFSET));
+
+        Task task;
+        switch (records.get(offset + TYPE_OFFSET)) {
+        case TYPE_TASK:
+            task = new Task(description);
+            break;
+        case TYPE_TODO:
+            task = new Todo(description);
+            break;
+        case TYPE_DEADLINE:
+            task = new Deadline(description, fromEpochMinutes(records.getLong(offset + FIRST_TIME_OFFSET)));
+            break;
+        case TYPE_EVENT:
+            task = new Event(description, fromEpochMinutes(records.getLong(offset + FIRST_TIME_OFFSET)),
+                    fromEpochMinutes(records.getLong(offset + SECOND_TIME_OFFSET)));
+            break;
+        default:
+            return null;
+        }
+
+        task.setId(records.getInt(offset + ID_OFFSET));
+        if ((records.get(offset + FLAGS_OFFSET) & FLAG_DONE) != 0) {
+            task.markDone();
+        }
+        return task;
+    }
+
+    private static String readString(ByteBuffer strings, long stringOffset) {
+        int offset = (int) stringOffset;
+        byte[] bytes = new byte[strings.getInt(offset)];
+        strings.get(offset + STRING_LENGTH_SIZE, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long toEpochMinutes(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), SECONDS_PER_MINUTE);
+    }
+
+    private static LocalDateTime fromEpochMinutes(long epochMinutes) {
+        return LocalDateTime.ofEpochSecond(epochMinutes * SECONDS_PER_MINUTE, 0, ZoneOffset.UTC);
+    }
+
+    @Override
+    public synchronized void saveTask(Task task) throws IOException {
+        write(() -> appendRecord(task));
+    }
+
+    private void appendRecord(Task task) throws IOException {
+        ByteBuffer record = encodeTask(task, internDescription(task.getDescription()));
+        recordChannel.write(record, recordChannel.size());
+    }
+
+    /**
+     * Writes the change to the save files, and records it for the running compaction to write into its snapshot.
+     */
+    private void write(WriteAction change) throws IOException {
+        openChannels();
+        change.write();
+        forceIfRequired();
+        if (changesDuringCompaction != null) {
+            changesDuringCompaction.add(change);
+        }
+    }
+
+    private void forceIfRequired() throws IOException {
+        if (durability != Durability.WRITE_BEHIND) {
+            stringChannel.force(false);
+            recordChannel.force(false);
+        }
+    }
+
+    @Override
+    public synchronized void saveMark(int taskNumber, Task task) throws IOException {
+        write(() -> writeFlags(task, FLAG_DONE, true));
+    }
+
+    @Override
+    public synchronized void saveUnmark(int taskNumber, Task task) throws IOException {
+        write(() -> writeFlags(task, FLAG_DONE, false));
+    }
+
+    @Override
+    public synchronized void saveDelete(int taskNumber, Task task) throws IOException {
+        write(() -> writeTombstone(task));
+    }
+
+    @Override
+    public synchronized void saveMarks(int[] taskNumbers, List<Task> tasks, boolean isDone) throws IOException {
+        write(() -> {
+            for (Task task : tasks) {
+                writeFlags(task, FLAG_DONE, isDone);
+            }
+        });
+    }
+
+    @Override
+    public synchronized void saveDeletes(int[] taskNumbers, List<Task> tasks) throws IOException {
+        write(() -> {
+            for (Task task : tasks) {
+                writeTombstone(task);
+            }
+        });
+    }
+
+    private void writeTombstone(Task task) throws IOException {
+        writeFlags(task, FLAG_DELETED, true);
+        tombstoneCount += 1;
+    }
+
+    /**
+     * Sets or clears a flag in the task's record, rewriting only the flag byte, without forcing it to disk.
+     */
+    private void writeFlags(Task task, byte flag, boolean isSet) throws IOException {
+        int slot = findSlot(task.getId());
+        if (slot == NOT_FOUND) {
+            throw new IOException("Task #" + task.getId() + " is not in " + recordFile.getName());
+        }
+
+        long flagsPosition = recordOffset(slot) + FLAGS_OFFSET;
+        ByteBuffer flags = ByteBuffer.allocate(1);
+        recordChannel.read(flags, flagsPosition);
+        byte updatedFlags = isSet ? (byte) (flags.get(0) | flag) : (byte) (flags.get(0) & ~flag);
+        recordChannel.write(ByteBuffer.wrap(new byte[] {updatedFlags}), flagsPosition);
+    }
+
+    /**
+     * Finds the record slot of the task with the given ID.
+     * Records are written in ID order, so the slot is found by binary search.
+     */
+    private int findSlot(int id) throws IOException {
+        ByteBuffer idBuffer = ByteBuffer.allocate(Integer.BYTES);
+        int low = 0;
+        int high = (int) ((recordChannel.size() - HEADER_SIZE) / RECORD_SIZE) - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            idBuffer.clear();
+            recordChannel.read(idBuffer, recordOffset(middle) + ID_OFFSET);
+            int middleId = idBuffer.getInt(0);
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    private ByteBuffer encodeTask(Task task, long descriptionOffset) {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        record.putInt(ID_OFFSET, task.getId());
+        record.put(FLAGS_OFFSET, task.isDone() ? FLAG_DONE : 0);
+        record.putLong(DESCRIPTION_OFFSET, descriptionOffset);
+        if (task instanceof Deadline) {
+            record.put(TYPE_OFFSET, TYPE_DEADLINE);
+            record.putLong(FIRST_TIME_OFFSET, toEpochMinutes(((Deadline) task).getBy()));
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            record.put(TYPE_OFFSET, TYPE_EVENT);
+            record.putLong(FIRST_TIME_OFFSET, toEpochMinutes(event.getStart()));
+            record.putLong(SECOND_TIME_OFFSET, toEpochMinutes(event.getEnd()));
+        } else if (task instanceof Todo) {
+            record.put(TYPE_OFFSET, TYPE_TODO);
+        } else {
+            record.put(TYPE_OFFSET, TYPE_TASK);
+        }
+        return record;
+    }
+
+    /**
+     * Returns the string table offset of the description, appending it only if it is not stored yet.
+     */
+    private long internDescription(String description) throws IOException {
+        if (stringOffsets == null) {
+            stringOffsets = readStringOffsets();
+        }
+
+        Long existingOffset = stringOffsets.get(description);
+        if (existingOffset != null) {
+            return existingOffset;
+        }
+
+        byte[] bytes = description.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer entry = ByteBuffer.allocate(STRING_LENGTH_SIZE + bytes.length);
+        entry.putInt(bytes.length).put(bytes).flip();
+        long offset = stringChannel.size();
+        stringChannel.write(entry, offset);
+        stringOffsets.put(description, offset);
+        return offset;
+    }
+
+    private HashMap<String, Long> readStringOffsets() throws IOException {
+        HashMap<String, Long> offsets = new HashMap<>();
+        MappedByteBuffer strings = map(stringFile);
+        int offset = HEADER_SIZE;
+        while (offset < strings.limit()) {
+            offsets.put(readString(strings, offset), (long) offset);
+            offset += STRING_LENGTH_SIZE + strings.getInt(offset);
+        }
+        return offsets;
+    }
+
+    private void openChannels() throws IOException {
+        if (recordChannel == null) {
+            recordChannel = FileChannel.open(recordFile.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+            stringChannel = FileChannel.open(stringFile.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+    }
+
+    private void closeChannels() throws IOException {
+        if (recordChannel != null) {
+            recordChannel.close();
+            stringChannel.close();
+            recordChannel = null;
+            stringChannel = null;
+        }
+    }
+
+    /**
+     * Waits for any compaction in progress, closes the save files and stops the background thread.
+     * Every other change has already been written, since writes are never queued.
+     *
+     * @throws IOException If the files cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        runAfterCompaction(this::closeChannels);
+        compactor.shutdown();
+    }
+
+    /**
+     * Rewrites the save files without tombstones once enough tasks have been deleted.
+     * The snapshot is written on a background thread, so the caller never waits for the full rewrite.
+     * Changes written meanwhile are recorded, and written into the snapshot before it is moved into place.
+     *
+     * @param tasks Supplies an unchanging snapshot of the tasks, reflecting every change written so far.
+     */
+    @Override
+    public synchronized void compactIfNeeded(Supplier<List<Task>> tasks) {
+        if (tombstoneCount < TOMBSTONE_COMPACTION_THRESHOLD || !compaction.isDone()) {
+            return;
+        }
+
+        List<Task> snapshot = tasks.get();
+        long nextGeneration = generation + 1;
+        changesDuringCompaction = new ArrayList<>();
+        compaction = CompletableFuture.runAsync(() -> {
+            boolean isReplaced = false;
+            try {
+                HashMap<String, Long> offsets = writeTempFiles(snapshot, nextGeneration);
+                replaceWithCompacted(offsets, nextGeneration);
+                isReplaced = true;
+            } catch (IOException e) {
+                // Tombstones are still valid, so compaction is simply retried after the next change
+                Metrics.increment(MeteredTaskStorage.ERROR_COUNTER);
+            } finally {
+                if (!isReplaced) {
+                    stopRecordingChanges();
+                }
+            }
+        }, compactor);
+    }
+
+    /**
+     * Writes the changes recorded during the compaction into its temporary files, then moves them into place.
+     */
+    private synchronized void replaceWithCompacted(HashMap<String, Long> offsets, long nextGeneration)
+            throws IOException {
+        List<WriteAction> changes = changesDuringCompaction;
+        changesDuringCompaction = null;
+        int oldTombstoneCount = tombstoneCount;
+        closeChannels();
+        try {
+            recordChannel = FileChannel.open(getTempFile(recordFile).toPath(), StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            stringChannel = FileChannel.open(getTempFile(stringFile).toPath(), StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            stringOffsets = offsets;
+            tombstoneCount = 0;
+            for (WriteAction change : changes) {
+                change.write();
+            }
+            recordChannel.force(true);
+            stringChannel.force(true);
+        } catch (IOException e) {
+            // The old files still hold every change, so carry on with them
+            stringOffsets = null;
+            tombstoneCount = oldTombstoneCount;
+            throw e;
+        } finally {
+            closeChannels();
+        }
+        moveIntoPlace(offsets, nextGeneration);
+    }
+
+    private synchronized void stopRecordingChanges() {
+        changesDuringCompaction = null;
+    }
+
+    /**
+     * Runs the action while holding this storage's lock, once no compaction is running.
+     * A compaction needs the lock to finish, so it is waited for without holding the lock.
+     */
+    private void runAfterCompaction(WriteAction action) throws IOException {
+        while (true) {
+            CompletableFuture<Void> running = compaction;
+            running.exceptionally(e -> null).join();
+            synchronized (this) {
+                // A compaction started while waiting must be waited for too
+                if (compaction == running) {
+                    action.write();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes a fresh snapshot of all tasks, replacing both save files.
+     * Waits for any compaction still in progress first, so that its older snapshot can never replace this one.
+     * The string table is moved into place before the records; an interrupted snapshot is
+     * completed on the next load because both files carry the same generation number.
+     *
+     * @param tasks List of tasks to be saved to the file.
+     * @throws IOException If an error occurs while writing the files.
+     */
+    @Override
+    public void saveTasks(List<Task> tasks) throws IOException {
+        runAfterCompaction(() -> {
+            long nextGeneration = generation + 1;
+            HashMap<String, Long> offsets = writeTempFiles(tasks, nextGeneration);
+            closeChannels();
+            moveIntoPlace(offsets, nextGeneration);
+        });
+    }
+
+    private void moveIntoPlace(HashMap<String, Long> offsets, long nextGeneration) throws IOException {
+        moveReplacing(getTempFile(stringFile), stringFile);
+        moveReplacing(getTempFile(recordFile), recordFile);
+        generation = nextGeneration;
+        stringOffsets = offsets;
+        tombstoneCount = 0;
+    }
+
+    private static File getTempFile(File file) {
+        return new File(file.getPath() + TEMP_SUFFIX);
+    }
+
+    /**
+     * Writes the tasks to the temporary save files with the given generation, forces them to disk,
+     * and returns the string table offsets of their descriptions.
+     */
+    private HashMap<String, Long> writeTempFiles(List<Task> tasks, long nextGeneration) throws IOException {
+        File recordTemp = getTempFile(recordFile);
+        File stringTemp = getTempFile(stringFile);
+        FileChannel records = openForWriting(recordTemp, RECORD_MAGIC, nextGeneration);
+        FileChannel strings = openForWriting(stringTemp, STRING_TABLE_MAGIC, nextGeneration);
+        HashMap<String, Long> offsets = new HashMap<>();
+        long stringPosition = HEADER_SIZE;
+        ByteBuffer recordBatch = ByteBuffer.allocate(RECORD_SIZE * 1024);
+        for (Task task : tasks) {
+            Long descriptionOffset = offsets.get(task.getDescription());
+            if (descriptionOffset == null) {
+                descriptionOffset = stringPosition;
+                byte[] bytes = task.getDescription().getBytes(StandardCharsets.UTF_8);
+                ByteBuffer entry = ByteBuffer.allocate(STRING_LENGTH_SIZE + bytes.length);
+                entry.putInt(bytes.length).put(bytes).flip();
+                stringPosition += strings.write(entry);
+                offsets.put(task.getDescription(), descriptionOffset);
+            }
+
+            if (!recordBatch.hasRemaining()) {
+                recordBatch.flip();
+                records.write(recordBatch);
+                recordBatch.clear();
+            }
+            recordBatch.put(encodeTask(task, descriptionOffset));
+        }
+        recordBatch.flip();
+        records.write(recordBatch);
+        records.force(true);
+        strings.force(true);
+        records.close();
+        strings.close();
+        return offsets;
+    }
+
+    private static FileChannel openForWriting(File file, int magic, long generation) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC_OFFSET, magic);
+        header.putShort(VERSION_OFFSET, FORMAT_VERSION);
+        header.putLong(GENERATION_OFFSET, generation);
+        channel.write(header);
+        return channel;
+    }
+
+    private static void moveReplacing(File source, File target) throws IOException {
+        try {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * A write to the save files, kept so that it can be written again into a compaction's snapshot.
+     */
+    @FunctionalInterface
+    private interface WriteAction {
+        void write() throws IOException;
+    }
+}
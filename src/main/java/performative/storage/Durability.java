@@ -0,0 +1,13 @@
+package performative.storage;
+
+/**
+ * Represents how durable a change must be before a command returns.
+ */
+public enum Durability {
+    /** Changes are written in batches on a background thread and left to the operating system to flush. */
+    WRITE_BEHIND,
+    /** Changes are written in batches on a background thread, and each batch is forced to disk. */
+    FSYNC,
+    /** Each command waits until the batch containing its change has been forced to disk. */
+    STRICT
+}
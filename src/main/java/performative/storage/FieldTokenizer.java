@@ -0,0 +1,39 @@
+package performative.storage;
+
+/**
+ * Splits lines of the save format on the "; " field separator.
+ * A hand-written replacement for {@link String#split(String)}, which compiles and runs a regex per line.
+ * Fields are written into a caller-supplied array so that no array is allocated per line.
+ */
+class FieldTokenizer {
+    private static final char SEPARATOR_CHAR = ';';
+    private static final char SEPARATOR_SPACE = ' ';
+    private static final int SEPARATOR_LENGTH = 2;
+
+    private FieldTokenizer() {
+    }
+
+    /**
+     * Splits the line into at most {@code fields.length} fields.
+     * The last field receives the remainder of the line, separators included.
+     *
+     * @param line The line to split.
+     * @param fields The array to write the fields into.
+     * @return The number of fields written.
+     */
+    static int tokenize(String line, String[] fields) {
+        int fieldCount = 0;
+        int fieldStart = 0;
+        int lastIndex = line.length() - 1;
+        for (int i = 0; i < lastIndex && fieldCount < fields.length - 1; i++) {
+            if (line.charAt(i) == SEPARATOR_CHAR && line.charAt(i + 1) == SEPARATOR_SPACE) {
+                fields[fieldCount] = line.substring(fieldStart, i);
+                fieldCount += 1;
+                fieldStart = i + SEPARATOR_LENGTH;
+                i += 1;
+            }
+        }
+        fields[fieldCount] = line.substring(fieldStart);
+        return fieldCount + 1;
+    }
+}
@@ -0,0 +1,272 @@
+package performative.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+
+import performative.metrics.Metrics;
+
+/**
+ * Appends lines to a journal file on a dedicated background thread.
+ * Lines queued while a batch is being written are committed together as one write,
+ * either when the flush interval elapses or as soon as a full batch is waiting.
+ * Write failures complete the affected futures exceptionally. Failures that no caller is waiting for
+ * are also counted as storage errors and kept until taken, so that callers who do not wait on disk still learn of them.
+ * The writer must be closed once it is no longer needed; until then, a shutdown hook writes
+ * any queued lines if the program exits.
+ */
+class JournalWriter {
+    private final File journalFile;
+    private final Durability durability;
+    private final long flushIntervalMillis;
+    private final int maxBatchSize;
+    private final ArrayDeque<Entry> queue = new ArrayDeque<>();
+    private final Thread writerThread;
+    private final Thread shutdownHook;
+    private FileChannel channel;
+    private IOException failure;
+    private boolean isClosed;
+
+    /**
+     * Creates a journal writer and starts its background thread.
+     *
+     * @param journalFile The file to append lines to.
+     * @param durability Whether each batch is forced to disk.
+     * @param flushIntervalMillis How long to wait for more lines before writing a partial batch.
+     * @param maxBatchSize The number of queued lines that triggers an immediate write.
+     */
+    JournalWriter(File journalFile, Durability durability, long flushIntervalMillis, int maxBatchSize) {
+        this.journalFile = journalFile;
+        this.durability = durability;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.writerThread = new Thread(this::run, "journal-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+        this.shutdownHook = new Thread(this::stop, "journal-writer-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Queues a line to be appended to the journal.
+     *
+     * @param line The line to append, without a line terminator.
+     * @return Future completed once the line has been written, and forced to disk if required.
+     */
+    synchronized CompletableFuture<Void> append(String line) {
+        // Strict callers wait for every line, so they learn of failures from the future
+        Entry entry = new Entry(line, null, durability == Durability.STRICT);
+        queue.add(entry);
+        // Wake the writer when a batch starts, and again when it is full
+        if (queue.size() == 1 || queue.size() >= maxBatchSize) {
+            notifyAll();
+        }
+        return entry.done;
+    }
+
+    /**
+     * Runs an action with the journal closed, after every line queued before it has been written.
+     * Used to rotate or delete the journal file without losing or misplacing queued lines.
+     *
+     * @param action The action to run while the journal is closed.
+     * @param isAwaited Whether the caller waits for the future, and so learns of a failure from it.
+     * @return Future completed once the action has run.
+     */
+    synchronized CompletableFuture<Void> runWhileClosed(JournalAction action, boolean isAwaited) {
+        Entry entry = new Entry(null, action, isAwaited);
+        queue.add(entry);
+        notifyAll();
+        return entry.done;
+    }
+
+    /**
+     * Returns and clears the first write failure since the last call.
+     *
+     * @return The failure, or null if every write succeeded.
+     */
+    synchronized IOException takeFailure() {
+        IOException takenFailure = failure;
+        failure = null;
+        return takenFailure;
+    }
+
+    /**
+     * Writes every queued line, stops the background thread and removes the shutdown hook.
+     * Lines appended after the writer is closed are never written.
+     */
+    void close() {
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // The program is already exiting, so the hook is stopping the writer anyway
+        }
+        stop();
+    }
+
+    /**
+     * Writes every queued line and stops the background thread, waiting for it to finish.
+     */
+    private void stop() {
+        synchronized (this) {
+            isClosed = true;
+            notifyAll();
+        }
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (true) {
+            ArrayList<Entry> batch = takeBatch();
+            if (batch == null) {
+                closeChannel();
+                return;
+            }
+            writeBatch(batch);
+        }
+    }
+
+    /**
+     * Waits for queued entries and takes all of them, giving a partial batch one flush interval to fill up.
+     *
+     * @return The entries to write, or null once the writer is closed and drained.
+     */
+    private synchronized ArrayList<Entry> takeBatch() {
+        try {
+            while (queue.isEmpty() && !isClosed) {
+                wait();
+            }
+            if (queue.size() < maxBatchSize && !isClosed && !hasQueuedAction()) {
+                wait(flushIntervalMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (queue.isEmpty()) {
+            return null;
+        }
+        ArrayList<Entry> batch = new ArrayList<>(queue);
+        queue.clear();
+        return batch;
+    }
+
+    private boolean hasQueuedAction() {
+        for (Entry entry : queue) {
+            if (entry.action != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeBatch(ArrayList<Entry> batch) {
+        StringBuilder lines = new StringBuilder();
+        ArrayList<Entry> group = new ArrayList<>();
+        for (Entry entry : batch) {
+            if (entry.action == null) {
+                lines.append(entry.line).append('\n');
+                group.add(entry);
+                continue;
+            }
+
+            commitGroup(lines, group);
+            lines.setLength(0);
+            group.clear();
+            try {
+                closeChannel();
+                entry.action.run();
+                entry.done.complete(null);
+            } catch (IOException e) {
+                recordFailure(e, entry.isAwaited);
+                entry.done.completeExceptionally(e);
+            }
+        }
+        commitGroup(lines, group);
+    }
+
+    private void commitGroup(StringBuilder lines, ArrayList<Entry> group) {
+        if (group.isEmpty()) {
+            return;
+        }
+
+        try {
+            if (channel == null) {
+                channel = FileChannel.open(journalFile.toPath(), StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+            ByteBuffer bytes = ByteBuffer.wrap(lines.toString().getBytes(Charset.defaultCharset()));
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            if (durability != Durability.WRITE_BEHIND) {
+                channel.force(false);
+            }
+            for (Entry entry : group) {
+                entry.done.complete(null);
+            }
+        } catch (IOException e) {
+            recordFailure(e, group.get(0).isAwaited);
+            closeChannel();
+            for (Entry entry : group) {
+                entry.done.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Counts a failed write and keeps it until taken, unless its caller is waiting for it.
+     * A waiting caller is told of the failure by the future instead, and the storage operation it made counts it.
+     */
+    private synchronized void recordFailure(IOException e, boolean isAwaited) {
+        if (isAwaited) {
+            return;
+        }
+        Metrics.increment(MeteredTaskStorage.ERROR_COUNTER);
+        if (failure == null) {
+            failure = e;
+        }
+    }
+
+    private void closeChannel() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            recordFailure(e, false);
+        }
+        channel = null;
+    }
+
+    /**
+     * Represents a file operation run on the writer thread while the journal is closed.
+     */
+    @FunctionalInterface
+    interface JournalAction {
+        void run() throws IOException;
+    }
+
+    private static class Entry {
+        private final String line;
+        private final JournalAction action;
+        private final boolean isAwaited;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private Entry(String line, JournalAction action, boolean isAwaited) {
+            this.line = line;
+            this.action = action;
+            this.isAwaited = isAwaited;
+        }
+    }
+}
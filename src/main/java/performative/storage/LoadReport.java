@@ -0,0 +1,67 @@
+package performative.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the problems found while loading a save file, so that they can be shown to the user
+ * instead of being silently dropped.
+ * Only the first few problems are described in full; the rest are only counted.
+ */
+public class LoadReport {
+    private static final int MAX_DESCRIBED_PROBLEMS = 5;
+
+    private final List<String> descriptions = new ArrayList<>();
+    private int problemCount;
+
+    void addSkippedRecord(String fileName, int lineNumber) {
+        addProblem("line " + lineNumber + " of " + fileName + " could not be read and was skipped");
+    }
+
+    void addCorruptBlock(String fileName, int firstLine, int lastLine) {
+        addProblem("lines " + firstLine + " to " + lastLine + " of " + fileName
+                + " do not match their checksum and may have been changed");
+    }
+
+    void addMissingFooter(String fileName) {
+        addProblem(fileName + " ends early, so tasks after its last checksum may be missing");
+    }
+
+    void addFooterMismatch(String fileName) {
+        addProblem(fileName + " does not match its footer checksum, so whole blocks of tasks may be missing");
+    }
+
+    private void addProblem(String description) {
+        problemCount += 1;
+        if (descriptions.size() < MAX_DESCRIBED_PROBLEMS) {
+            descriptions.add(description);
+        }
+    }
+
+    /**
+     * Returns whether any problem was found.
+     *
+     * @return True if at least one record was skipped or failed its checksum.
+     */
+    public boolean hasProblems() {
+        return problemCount > 0;
+    }
+
+    /**
+     * Returns the number of problems found, including those not described.
+     *
+     * @return The number of problems.
+     */
+    public int getProblemCount() {
+        return problemCount;
+    }
+
+    /**
+     * Returns descriptions of the first few problems, in the order they were found.
+     *
+     * @return The problem descriptions.
+     */
+    public List<String> getDescriptions() {
+        return List.copyOf(descriptions);
+    }
+}
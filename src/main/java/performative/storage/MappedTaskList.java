@@ -0,0 +1,50 @@
+package performative.storage;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import performative.tasks.Task;
+
+/**
+ * Read-only list of the live tasks in a mapped binary save file.
+ * Each task is decoded from its record the first time it is accessed and cached afterwards.
+ * Safe to read from several threads: if two threads decode the same task at once,
+ * only the first copy is cached and both get that copy, so every reader sees the same task object.
+ */
+class MappedTaskList extends AbstractList<Task> implements RandomAccess {
+    private final ByteBuffer records;
+    private final ByteBuffer strings;
+    private final int[] liveSlots;
+    private final int size;
+    private final AtomicReferenceArray<Task> materialisedTasks;
+
+    MappedTaskList(ByteBuffer records, ByteBuffer strings, int[] liveSlots, int size) {
+        this.records = records;
+        this.strings = strings;
+        this.liveSlots = liveSlots;
+        this.size = size;
+        this.materialisedTasks = new AtomicReferenceArray<>(size);
+    }
+
+    @Override
+    public Task get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        Task task = materialisedTasks.get(index);
+        if (task == null) {
+            task = BinaryStorage.readTask(records, strings, liveSlots[index]);
+            if (!materialisedTasks.compareAndSet(index, null, task)) {
+                task = materialisedTasks.get(index);
+            }
+        }
+        return task;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,164 @@
+package performative.storage;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Supplier;
+
+import performative.metrics.LatencyHistogram;
+import performative.metrics.Metrics;
+import performative.tasks.Task;
+
+/**
+ * Records how long each operation of another storage backend takes, and how many of them fail.
+ * Write-behind backends return before their writes reach the disk, so their write latencies
+ * are the time a command waits, not the time the disk takes. Those backends count the failures
+ * of their background writes under {@value #ERROR_COUNTER} themselves, as the writes fail.
+ */
+class MeteredTaskStorage implements TaskStorage {
+    static final String ERROR_COUNTER = "storage.errors";
+
+    private final TaskStorage storage;
+    private final LatencyHistogram loadTasks = Metrics.getHistogram("storage.loadTasks");
+    private final LatencyHistogram saveTask = Metrics.getHistogram("storage.saveTask");
+    private final LatencyHistogram saveMark = Metrics.getHistogram("storage.saveMark");
+    private final LatencyHistogram saveDelete = Metrics.getHistogram("storage.saveDelete");
+    private final LatencyHistogram saveTasks = Metrics.getHistogram("storage.saveTasks");
+
+    MeteredTaskStorage(TaskStorage storage) {
+        this.storage = storage;
+    }
+
+    @Override
+    public boolean initializeFile() {
+        return storage.initializeFile();
+    }
+
+    @Override
+    public boolean fileExists() {
+        return storage.fileExists();
+    }
+
+    @Override
+    public List<Task> loadTasks() throws IOException {
+        long start = System.nanoTime();
+        try {
+            return storage.loadTasks();
+        } catch (IOException e) {
+            Metrics.increment(ERROR_COUNTER);
+            throw e;
+        } finally {
+            loadTasks.recordSince(start);
+        }
+    }
+
+    @Override
+    public void saveTask(Task task) throws IOException {
+        long start = System.nanoTime();
+        try {
+            storage.saveTask(task);
+        } catch (IOException e) {
+            Metrics.increment(ERROR_COUNTER);
+            throw e;
+        } finally {
+            saveTask.recordSince(start);
+        }
+    }
+
+    @Override
+    public void saveMark(int taskNumber, Task task) throws IOException {
+        long start = System.nanoTime();
+        try {
+            storage.saveMark(taskNumber, task);
+        } catch (IOException e) {
+            Metrics.increment(ERROR_COUNTER);
+            throw e;
+        } finally {
+            saveMark.recordSince(start);
+        }
+    }
+
+    @Override
+    public void saveUnmark(int taskNumber, Task task) throws IOException {
+        long start = System.nanoTime();
+        try {
+            storage.saveUnmark(taskNumber, task);
+        } catch (IOException e) {
+            Metrics.increment(ERROR_COUNTER);
+            throw e;
+        } finally {
+            saveMark.recordSince(start);
+        }
+    }
+
+    @Override
+    public void saveDelete(int taskNumber, Task task) throws IOException {
+        long start = System.nanoTime();
+        try {
+            storage.saveDelete(taskNumber, task);
+        } catch (IOException e) {
+            Metrics.increment(ERROR_COUNTER);
+            throw e;
+        } finally {
+            saveDelete.recordSince(start);
+        }
+    }
+
+    @Override
+    public void saveMarks(int[] taskNumbers, List<Task> tasks, boolean isDone) throws IOException {
+        long start = System.nanoTime();
+        try {
+            storage.saveMarks(taskNumbers, tasks, isDone);
+        } catch (IOException e) {
+            Metrics.increment(ERROR_COUNTER);
+            throw e;
+        } finally {
+            saveMark.recordSince(start);
+        }
+    }
+
+    @Override
+    public void saveDeletes(int[] taskNumbers, List<Task> tasks) throws IOException {
+        long start = System.nanoTime();
+        try {
+            storage.saveDeletes(taskNumbers, tasks);
+        } catch (IOException e) {
+            Metrics.increment(ERROR_COUNTER);
+            throw e;
+        } finally {
+            saveDelete.recordSince(start);
+        }
+    }
+
+    @Override
+    public void compactIfNeeded(Supplier<List<Task>> tasks) {
+        storage.compactIfNeeded(tasks);
+    }
+
+    @Override
+    public void saveTasks(List<Task> tasks) throws IOException {
+        long start = System.nanoTime();
+        try {
+            storage.saveTasks(tasks);
+        } catch (IOException e) {
+            Metrics.increment(ERROR_COUNTER);
+            throw e;
+        } finally {
+            saveTasks.recordSince(start);
+        }
+    }
+
+    @Override
+    public IOException takeWriteFailure() {
+        return storage.takeWriteFailure();
+    }
+
+    @Override
+    public LoadReport takeLoadReport() {
+        return storage.takeLoadReport();
+    }
+
+    @Override
+    public void close() throws IOException {
+        storage.close();
+    }
+}
@@ -1,21 +1,45 @@
 package performative.storage;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
+import java.io.FileReader;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
-import java.util.Scanner;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
 
+import performative.metrics.Metrics;
 import performative.tasks.Deadline;
 import performative.tasks.Event;
 import performative.tasks.Task;
 import performative.tasks.Todo;
+import performative.time.DateTimeParser;
 
 /**
- * Handles file storage operations for the Performative application.
+ * Handles text file storage operations for the Performative application.
  * Manages loading and saving tasks to and from the file system.
+ * Changes to the task list are appended to a journal next to the save file by a write-behind thread,
+ * and the journal is replayed on load and compacted into a fresh snapshot in the background.
  */
-public class Storage {
+public class Storage implements TaskStorage {
     private static final int MINIMUM_TASK_PARTS = 3;
     private static final int TYPE_INDEX = 0;
     private static final int STATUS_INDEX = 1;
@@ -25,16 +49,102 @@ public class Storage {
     private static final int EVENT_END_TIME_INDEX = 4;
     private static final int MINIMUM_DEADLINE_PARTS = 4;
     private static final int MINIMUM_EVENT_PARTS = 5;
+    private static final int TASK_ID_INDEX = 3;
+    private static final int DEADLINE_ID_INDEX = 4;
+    private static final int EVENT_ID_INDEX = 5;
+
+    private static final String FIELD_SEPARATOR = "; ";
+    private static final int MAX_FIELDS = 8;
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+    private static final String CHECKPOINT_TYPE = "Checkpoint";
+    private static final int CHECKPOINT_PARTS = 2;
+    private static final int CHECKPOINT_SEQUENCE_INDEX = 1;
+
+    // Snapshots end each block of lines with a checksum of the block, and end the file with a footer
+    // holding a checksum of everything before it
+    private static final String CHECKSUM_TYPE = "Checksum";
+    private static final String FOOTER_TYPE = "Footer";
+    private static final int LINES_PER_BLOCK = 1024;
+    private static final int FOOTER_SEARCH_BYTES = 64;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    // Below this size, splitting the file and starting the pool costs more than parsing on one thread
+    private static final long PARALLEL_LOAD_THRESHOLD_BYTES = 1 << 20;
+    private static final int MIN_CHUNK_BYTES = 1 << 16;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private static final String JOURNAL_SUFFIX = ".log";
+    private static final String COMPACTING_JOURNAL_SUFFIX = ".log.old";
+    private static final String SNAPSHOT_TEMP_SUFFIX = ".tmp";
+    private static final String KNOWN_GOOD_SUFFIX = ".good";
+    private static final String ADD_RECORD = "Add";
+    private static final String MARK_RECORD = "Mark";
+    private static final String UNMARK_RECORD = "Unmark";
+    private static final String DELETE_RECORD = "Delete";
+    private static final int JOURNAL_RECORD_PARTS = 4;
+    private static final int SEQUENCE_INDEX = 0;
+    private static final int OPERATION_INDEX = 1;
+    private static final int TASK_NUMBER_INDEX = 2;
+    private static final int PAYLOAD_INDEX = 3;
+    private static final int APPEND_TASK_NUMBER = 0;
+    private static final int NOT_FOUND = -1;
+    private static final int COMPACTION_THRESHOLD = 1000;
+    private static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 20;
+    private static final int DEFAULT_MAX_BATCH_SIZE = 256;
 
     private File saveFile;
+    private File journalFile;
+    private File compactingJournalFile;
+    private File knownGoodFile;
+    private Durability durability;
+    private JournalWriter journalWriter;
+    private long nextSequence = 1;
+    private int journalRecordCount;
+    // Completes once the last compaction started has written its snapshot or failed
+    private volatile CompletableFuture<Void> compaction = CompletableFuture.completedFuture(null);
+    private LoadReport loadReport;
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "storage-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     /**
      * Creates a new Storage instance with the specified file path.
+     * Changes are written behind, in batches, without forcing them to disk.
      *
      * @param filePath Path to the file where tasks will be stored.
      */
     public Storage(String filePath) {
+        this(filePath, Durability.WRITE_BEHIND);
+    }
+
+    /**
+     * Creates a new Storage instance with the specified file path and durability.
+     * Changes are written in batches using the default flush interval and batch size.
+     *
+     * @param filePath Path to the file where tasks will be stored.
+     * @param durability How durable each change must be before the command that made it returns.
+     */
+    public Storage(String filePath, Durability durability) {
+        this(filePath, durability, DEFAULT_FLUSH_INTERVAL_MILLIS, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * Creates a new Storage instance with the specified file path and journal settings.
+     *
+     * @param filePath Path to the file where tasks will be stored.
+     * @param durability How durable each change must be before the command that made it returns.
+     * @param flushIntervalMillis How long queued changes may wait before they are written.
+     * @param maxBatchSize The number of queued changes that are written without waiting for the interval.
+     */
+    public Storage(String filePath, Durability durability, long flushIntervalMillis, int maxBatchSize) {
         this.saveFile = new File(filePath);
+        this.journalFile = new File(filePath + JOURNAL_SUFFIX);
+        this.compactingJournalFile = new File(filePath + COMPACTING_JOURNAL_SUFFIX);
+        this.knownGoodFile = new File(filePath + KNOWN_GOOD_SUFFIX);
+        this.durability = durability;
+        this.journalWriter = new JournalWriter(journalFile, durability, flushIntervalMillis, maxBatchSize);
     }
 
     /**
@@ -43,6 +153,7 @@ public class Storage {
      *
      * @return True if the file was successfully created or already exists, false otherwise.
      */
+    @Override
     public boolean initializeFile() {
         try {
             // Create parent directories if they don't exist
@@ -65,52 +176,321 @@ public class Storage {
      *
      * @return True if the save file exists, false otherwise.
      */
+    @Override
     public boolean fileExists() {
         return saveFile.exists();
     }
 
     /**
      * Loads all tasks from the save file.
-     * Parses the file content and creates appropriate task objects.
+     * Parses the snapshot, then replays any journal records written after it.
+     * Snapshots are checked against their checksums unless they already passed the check unchanged,
+     * and large snapshots that need no check are parsed in parallel.
      *
      * @return ArrayList of Task objects loaded from the file.
      * @throws IOException If an error occurs while reading the file.
      */
+    @Override
     public ArrayList<Task> loadTasks() throws IOException {
-        ArrayList<Task> tasks = new ArrayList<>();
+        long fileSize = saveFile.length();
+        return loadTasks(fileSize >= PARALLEL_LOAD_THRESHOLD_BYTES && fileSize <= Integer.MAX_VALUE);
+    }
 
+    /**
+     * Loads all tasks from the save file, parsing the snapshot either on this thread or in parallel.
+     * Snapshots that need their checksums checked are always parsed on this thread, in one pass.
+     *
+     * @param isParallel True to split the snapshot into chunks and parse them on the fork-join pool.
+     * @return ArrayList of Task objects loaded from the file.
+     * @throws IOException If an error occurs while reading the file.
+     */
+    ArrayList<Task> loadTasks(boolean isParallel) throws IOException {
+        loadReport = new LoadReport();
         if (!saveFile.exists()) {
-            return tasks;
+            return new ArrayList<>();
         }
 
-        Scanner fileScanner = new Scanner(saveFile);
-        while (fileScanner.hasNextLine()) {
-            String data = fileScanner.nextLine();
-            String[] parts = data.split("; ");
-
-            if (parts.length < MINIMUM_TASK_PARTS) {
-                continue;
+        String footer = readFooter();
+        ParsedChunk snapshot;
+        if (footer != null && !isKnownGood(footer)) {
+            SnapshotValidator validator = new SnapshotValidator(saveFile.getName(), loadReport);
+            snapshot = parseSnapshot(validator);
+            validator.finish(snapshot.lineCount);
+            if (!loadReport.hasProblems()) {
+                recordKnownGood(footer);
+            }
+        } else {
+            snapshot = isParallel ? parseSnapshotInParallel() : parseSnapshot(null);
+            // Snapshots that have checksums but no footer were cut short
+            if (footer == null && snapshot.hasChecksums) {
+                loadReport.addMissingFooter(saveFile.getName());
             }
+        }
+        for (int lineNumber : snapshot.skippedLines) {
+            loadReport.addSkippedRecord(saveFile.getName(), lineNumber);
+        }
+
+        ArrayList<Task> tasks = snapshot.tasks;
+        assignMissingIds(tasks);
+
+        nextSequence = snapshot.checkpoint + 1;
+        journalRecordCount = 0;
+        replayJournal(compactingJournalFile, tasks, snapshot.checkpoint);
+        replayJournal(journalFile, tasks, snapshot.checkpoint);
+        return tasks;
+    }
 
-            String type = parts[TYPE_INDEX];
-            String status = parts[STATUS_INDEX];
-            String description = parts[DESCRIPTION_INDEX];
+    /**
+     * Returns and clears the report of problems found by the last load.
+     *
+     * @return The report, or null if nothing has been loaded since the last call.
+     */
+    @Override
+    public LoadReport takeLoadReport() {
+        LoadReport report = loadReport;
+        loadReport = null;
+        return report;
+    }
 
-            Task task = createTaskFromData(type, description, parts);
+    /**
+     * Returns the footer line at the end of the save file, or null if the file has no footer.
+     * Save files written before snapshots had checksums have no footer.
+     */
+    private String readFooter() throws IOException {
+        byte[] tail;
+        try (RandomAccessFile file = new RandomAccessFile(saveFile, "r")) {
+            long length = file.length();
+            tail = new byte[(int) Math.min(length, FOOTER_SEARCH_BYTES)];
+            file.seek(length - tail.length);
+            file.readFully(tail);
+        }
 
-            if (task != null) {
-                // Mark task as done if it was indicated as completed in the save file
-                if (status.equals("Complete")) {
-                    task.markDone();
+        String text = new String(tail, Charset.defaultCharset()).stripTrailing();
+        String lastLine = text.substring(text.lastIndexOf('\n') + 1);
+        return lastLine.startsWith(FOOTER_TYPE + FIELD_SEPARATOR) ? lastLine : null;
+    }
+
+    /**
+     * Returns whether the save file is unchanged since it was last written or checked with no problems.
+     */
+    private boolean isKnownGood(String footer) {
+        try {
+            return knownGoodFile.exists() && Files.readString(knownGoodFile.toPath()).equals(describeSaveFile(footer));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Remembers that the save file, as it is now, passed its checksums, so the next load can skip checking them.
+     */
+    private void recordKnownGood(String footer) {
+        try {
+            Files.writeString(knownGoodFile.toPath(), describeSaveFile(footer));
+        } catch (IOException e) {
+            // Without the record, the next load only checks the checksums again
+            knownGoodFile.delete();
+        }
+    }
+
+    private String describeSaveFile(String footer) {
+        return footer + FIELD_SEPARATOR + saveFile.length() + FIELD_SEPARATOR + saveFile.lastModified();
+    }
+
+    private ParsedChunk parseSnapshot(SnapshotValidator validator) throws IOException {
+        ParsedChunk snapshot = new ParsedChunk(new ArrayList<>());
+        String[] fields = new String[MAX_FIELDS];
+        try (BufferedReader reader = new BufferedReader(new FileReader(saveFile), READ_BUFFER_SIZE)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                parseLine(line, fields, snapshot);
+                if (validator != null) {
+                    validator.checkLine(line, snapshot.lineCount);
                 }
-                tasks.add(task);
             }
         }
-        fileScanner.close();
-        return tasks;
+        return snapshot;
+    }
+
+    /**
+     * Splits the snapshot into newline-aligned byte ranges, parses each range on the fork-join pool,
+     * and joins the parsed ranges back together in file order.
+     */
+    private ParsedChunk parseSnapshotInParallel() throws IOException {
+        FileChannel channel = FileChannel.open(saveFile.toPath(), StandardOpenOption.READ);
+        ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        channel.close();
+
+        int[] bounds = findChunkBounds(buffer);
+        List<ForkJoinTask<ParsedChunk>> parsers = new ArrayList<>();
+        for (int i = 0; i + 1 < bounds.length; i++) {
+            // Each parser gets its own view, since buffers are not safe to share between threads
+            ByteBuffer chunk = buffer.slice(bounds[i], bounds[i + 1] - bounds[i]);
+            parsers.add(ForkJoinTask.adapt(() -> parseChunk(chunk)));
+        }
+        ForkJoinTask.invokeAll(parsers);
+
+        int taskCount = 0;
+        for (ForkJoinTask<ParsedChunk> parser : parsers) {
+            taskCount += parser.join().tasks.size();
+        }
+        ParsedChunk snapshot = new ParsedChunk(new ArrayList<>(taskCount));
+        for (ForkJoinTask<ParsedChunk> parser : parsers) {
+            snapshot.append(parser.join());
+        }
+        return snapshot;
     }
 
-    private Task createTaskFromData(String type, String description, String[] parts) {
+    /**
+     * Returns the offsets at which each chunk starts, followed by the end of the file.
+     * Every chunk but the first starts just after a newline, so no line is split between chunks.
+     */
+    private static int[] findChunkBounds(ByteBuffer buffer) {
+        int size = buffer.limit();
+        int chunkCount = Math.max(1,
+                Math.min(ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD, size / MIN_CHUNK_BYTES));
+        int[] bounds = new int[chunkCount + 1];
+        bounds[chunkCount] = size;
+        for (int i = 1; i < chunkCount; i++) {
+            int position = Math.max(bounds[i - 1], (int) ((long) size * i / chunkCount));
+            while (position < size && buffer.get(position) != '\n') {
+                position++;
+            }
+            bounds[i] = Math.min(size, position + 1);
+        }
+        return bounds;
+    }
+
+    /**
+     * Parses the lines of one chunk of the snapshot.
+     * The save file is written in the default charset, which keeps newlines as single bytes,
+     * so a chunk that starts after a newline always decodes on its own.
+     */
+    private ParsedChunk parseChunk(ByteBuffer chunk) {
+        byte[] bytes = new byte[chunk.remaining()];
+        chunk.get(bytes);
+        String text = new String(bytes, Charset.defaultCharset());
+
+        ParsedChunk parsed = new ParsedChunk(new ArrayList<>());
+        String[] fields = new String[MAX_FIELDS];
+        int lineStart = 0;
+        while (lineStart < text.length()) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            if (lineEnd == NOT_FOUND) {
+                lineEnd = text.length();
+            }
+            int contentEnd = lineEnd > lineStart && text.charAt(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            parseLine(text.substring(lineStart, contentEnd), fields, parsed);
+            lineStart = lineEnd + 1;
+        }
+        return parsed;
+    }
+
+    private void parseLine(String line, String[] fields, ParsedChunk parsed) {
+        parsed.lineCount += 1;
+        int fieldCount = FieldTokenizer.tokenize(line, fields);
+        if (isCheckpoint(fields, fieldCount)) {
+            parsed.setCheckpoint(parseCheckpoint(fields));
+            return;
+        }
+        if (fields[TYPE_INDEX].equals(CHECKSUM_TYPE)) {
+            parsed.hasChecksums = true;
+            return;
+        }
+        if (fields[TYPE_INDEX].equals(FOOTER_TYPE)) {
+            return;
+        }
+
+        Task task = parseTask(fields, fieldCount);
+        if (task != null) {
+            parsed.tasks.add(task);
+        } else if (!line.isBlank()) {
+            parsed.skippedLines.add(parsed.lineCount);
+        }
+    }
+
+    /**
+     * Assigns IDs to tasks loaded from a save file written before tasks had IDs.
+     * IDs are assigned in file order, so journal records written against them replay consistently.
+     */
+    private void assignMissingIds(ArrayList<Task> tasks) {
+        int nextId = 1;
+        for (Task task : tasks) {
+            if (task.hasId()) {
+                nextId = Math.max(nextId, task.getId() + 1);
+            }
+        }
+        for (Task task : tasks) {
+            if (!task.hasId()) {
+                task.setId(nextId);
+                nextId += 1;
+            }
+        }
+    }
+
+    private boolean isCheckpoint(String[] fields, int fieldCount) {
+        return fieldCount == CHECKPOINT_PARTS && fields[TYPE_INDEX].equals(CHECKPOINT_TYPE);
+    }
+
+    private long parseCheckpoint(String[] fields) {
+        try {
+            return Long.parseLong(fields[CHECKPOINT_SEQUENCE_INDEX]);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private Task parseTask(String[] fields, int fieldCount) {
+        if (fieldCount < MINIMUM_TASK_PARTS) {
+            return null;
+        }
+
+        String type = fields[TYPE_INDEX];
+        String status = fields[STATUS_INDEX];
+        String description = fields[DESCRIPTION_INDEX];
+
+        Task task = createTaskFromData(type, description, fields, fieldCount);
+        if (task == null) {
+            return null;
+        }
+
+        // Mark task as done if it was indicated as completed in the save file
+        if (status.equals("Complete")) {
+            task.markDone();
+        }
+        assignSavedId(task, type, fields, fieldCount);
+        return task;
+    }
+
+    private void assignSavedId(Task task, String type, String[] fields, int fieldCount) {
+        int idIndex;
+        switch (type) {
+        case "Deadline":
+            idIndex = DEADLINE_ID_INDEX;
+            break;
+        case "Event":
+            idIndex = EVENT_ID_INDEX;
+            break;
+        default:
+            idIndex = TASK_ID_INDEX;
+            break;
+        }
+
+        // Save files written before tasks had IDs have no ID field
+        if (fieldCount <= idIndex) {
+            return;
+        }
+        try {
+            int id = Integer.parseInt(fields[idIndex]);
+            if (id > Task.UNASSIGNED_ID) {
+                task.setId(id);
+            }
+        } catch (NumberFormatException e) {
+            return;
+        }
+    }
+
+    private Task createTaskFromData(String type, String description, String[] fields, int fieldCount) {
         try {
             switch (type) {
             case "Task":
@@ -118,13 +498,14 @@ public class Storage {
             case "Todo":
                 return new Todo(description);
             case "Deadline":
-                if (parts.length >= MINIMUM_DEADLINE_PARTS) {
-                    return new Deadline(description, parts[DEADLINE_TIME_INDEX]);
+                if (fieldCount >= MINIMUM_DEADLINE_PARTS) {
+                    return new Deadline(description, DateTimeParser.parseSaveFormat(fields[DEADLINE_TIME_INDEX]));
                 }
                 break;
             case "Event":
-                if (parts.length >= MINIMUM_EVENT_PARTS) {
-                    return new Event(description, parts[EVENT_START_TIME_INDEX], parts[EVENT_END_TIME_INDEX]);
+                if (fieldCount >= MINIMUM_EVENT_PARTS) {
+                    return new Event(description, DateTimeParser.parseSaveFormat(fields[EVENT_START_TIME_INDEX]),
+                            DateTimeParser.parseSaveFormat(fields[EVENT_END_TIME_INDEX]));
                 }
                 break;
             default:
@@ -137,29 +518,511 @@ public class Storage {
     }
 
     /**
-     * Saves a single task to the save file by appending it.
+     * Replays the records of a journal file onto the given tasks.
+     * Records already covered by the snapshot checkpoint are skipped.
+     */
+    private void replayJournal(File journal, ArrayList<Task> tasks, long checkpoint) throws IOException {
+        if (!journal.exists()) {
+            return;
+        }
+
+        String[] record = new String[JOURNAL_RECORD_PARTS];
+        String[] fields = new String[MAX_FIELDS];
+        try (BufferedReader reader = new BufferedReader(new FileReader(journal), READ_BUFFER_SIZE)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber += 1;
+                if (!line.isBlank()) {
+                    replayRecord(line, record, fields, tasks, checkpoint, journal.getName(), lineNumber);
+                }
+            }
+        }
+    }
+
+    private void replayRecord(String line, String[] record, String[] fields, ArrayList<Task> tasks, long checkpoint,
+            String journalName, int lineNumber) {
+        // A crash while appending can leave the last record cut short
+        if (FieldTokenizer.tokenize(line, record) < JOURNAL_RECORD_PARTS) {
+            loadReport.addSkippedRecord(journalName, lineNumber);
+            return;
+        }
+
+        try {
+            long sequence = Long.parseLong(record[SEQUENCE_INDEX]);
+            nextSequence = Math.max(nextSequence, sequence + 1);
+            journalRecordCount += 1;
+            if (sequence > checkpoint && !applyRecord(record, fields, tasks)) {
+                loadReport.addSkippedRecord(journalName, lineNumber);
+            }
+        } catch (NumberFormatException e) {
+            loadReport.addSkippedRecord(journalName, lineNumber);
+        }
+    }
+
+    /**
+     * Applies a journal record to the tasks.
+     *
+     * @return False if the record could not be read, true otherwise.
+     */
+    private boolean applyRecord(String[] record, String[] fields, ArrayList<Task> tasks) {
+        int fieldCount = FieldTokenizer.tokenize(record[PAYLOAD_INDEX], fields);
+        Task recordedTask = parseTask(fields, fieldCount);
+        if (recordedTask == null) {
+            return false;
+        }
+
+        String operation = record[OPERATION_INDEX];
+        if (operation.equals(ADD_RECORD)) {
+            tasks.add(recordedTask);
+            return true;
+        }
+
+        int index = findRecordedTask(tasks, Integer.parseInt(record[TASK_NUMBER_INDEX]), recordedTask);
+        if (index == NOT_FOUND) {
+            // The task may already have been deleted by an earlier record
+            return true;
+        }
+
+        switch (operation) {
+        case MARK_RECORD:
+            tasks.get(index).markDone();
+            break;
+        case UNMARK_RECORD:
+            tasks.get(index).markUndone();
+            break;
+        case DELETE_RECORD:
+            tasks.remove(index);
+            break;
+        default:
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Finds the task a journal record refers to.
+     * Checks the recorded position first and falls back to a search by task ID,
+     * so that a record never touches a different task that happens to share its position.
+     *
+     * @return Index of the matching task, or -1 if no task matches.
+     */
+    private int findRecordedTask(ArrayList<Task> tasks, int taskNumber, Task recordedTask) {
+        int index = taskNumber - 1;
+        if (index >= 0 && index < tasks.size() && isSameTask(tasks.get(index), recordedTask)) {
+            return index;
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            if (isSameTask(tasks.get(i), recordedTask)) {
+                return i;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    private boolean isSameTask(Task task, Task recordedTask) {
+        if (recordedTask.hasId()) {
+            return task.getId() == recordedTask.getId();
+        }
+        return task.getClass() == recordedTask.getClass()
+                && task.getDescription().equals(recordedTask.getDescription());
+    }
+
+    /**
+     * Saves a single newly added task by appending a record to the journal.
      *
      * @param task The task to be saved to the file.
      * @throws IOException If an error occurs while writing to the file.
      */
+    @Override
     public void saveTask(Task task) throws IOException {
-        FileWriter writer = new FileWriter(saveFile, true);
-        writer.write(task.toSaveFormat() + "\n");
-        writer.close();
+        appendRecord(ADD_RECORD, APPEND_TASK_NUMBER, task);
+    }
+
+    /**
+     * Records that a task has been marked as done.
+     *
+     * @param taskNumber The number of the marked task (1-indexed), or 0 if it was addressed by ID.
+     * @param task The task that was marked.
+     * @throws IOException If an error occurs while writing to the journal.
+     */
+    @Override
+    public void saveMark(int taskNumber, Task task) throws IOException {
+        appendRecord(MARK_RECORD, taskNumber, task);
+    }
+
+    /**
+     * Records that a task has been marked as not done.
+     *
+     * @param taskNumber The number of the unmarked task (1-indexed), or 0 if it was addressed by ID.
+     * @param task The task that was unmarked.
+     * @throws IOException If an error occurs while writing to the journal.
+     */
+    @Override
+    public void saveUnmark(int taskNumber, Task task) throws IOException {
+        appendRecord(UNMARK_RECORD, taskNumber, task);
+    }
+
+    /**
+     * Records that a task has been deleted.
+     *
+     * @param taskNumber The number the task had before it was deleted (1-indexed), or 0 if it was addressed by ID.
+     * @param task The task that was deleted.
+     * @throws IOException If an error occurs while writing to the journal.
+     */
+    @Override
+    public void saveDelete(int taskNumber, Task task) throws IOException {
+        appendRecord(DELETE_RECORD, taskNumber, task);
+    }
+
+    /**
+     * Records that each of the tasks has been marked as done or as not done.
+     * All the records are written to the journal together.
+     *
+     * @param taskNumbers The numbers of the tasks (1-indexed), in the same order as the tasks.
+     * @param tasks The tasks that were marked or unmarked.
+     * @param isDone True if the tasks were marked as done, false if they were marked as not done.
+     * @throws IOException If an error occurs while writing to the journal.
+     */
+    @Override
+    public void saveMarks(int[] taskNumbers, List<Task> tasks, boolean isDone) throws IOException {
+        appendRecords(isDone ? MARK_RECORD : UNMARK_RECORD, taskNumbers, tasks, false);
+    }
+
+    /**
+     * Records that each of the tasks has been deleted.
+     * All the records are written to the journal together.
+     *
+     * @param taskNumbers The numbers the tasks had before they were deleted (1-indexed), in ascending order.
+     * @param tasks The tasks that were deleted, in the same order as their numbers.
+     * @throws IOException If an error occurs while writing to the journal.
+     */
+    @Override
+    public void saveDeletes(int[] taskNumbers, List<Task> tasks) throws IOException {
+        // Replaying deletions from the last task to the first keeps each recorded task number correct
+        appendRecords(DELETE_RECORD, taskNumbers, tasks, true);
+    }
+
+    /**
+     * Queues a record for the journal writer.
+     * Only waits for the record to reach the disk in strict durability mode.
+     */
+    private void appendRecord(String operation, int taskNumber, Task task) throws IOException {
+        CompletableFuture<Void> written = journalWriter.append(formatRecord(operation, taskNumber, task));
+        if (durability == Durability.STRICT) {
+            awaitWrite(written);
+        }
+    }
+
+    /**
+     * Queues the records of several changes as one journal entry, so that they are written and forced together.
+     * Only waits for the records to reach the disk in strict durability mode.
+     */
+    private void appendRecords(String operation, int[] taskNumbers, List<Task> tasks, boolean isReversed)
+            throws IOException {
+        assert taskNumbers.length == tasks.size() : "Every task needs a task number";
+        if (tasks.isEmpty()) {
+            return;
+        }
+
+        StringBuilder records = new StringBuilder();
+        for (int i = 0; i < tasks.size(); i++) {
+            int index = isReversed ? tasks.size() - 1 - i : i;
+            if (i > 0) {
+                records.append('\n');
+            }
+            records.append(formatRecord(operation, taskNumbers[index], tasks.get(index)));
+        }
+        CompletableFuture<Void> written = journalWriter.append(records.toString());
+        if (durability == Durability.STRICT) {
+            awaitWrite(written);
+        }
+    }
+
+    /**
+     * Returns the journal record of a change and advances the record sequence.
+     */
+    private String formatRecord(String operation, int taskNumber, Task task) {
+        String record = nextSequence + FIELD_SEPARATOR + operation + FIELD_SEPARATOR + taskNumber
+                + FIELD_SEPARATOR + task.toSaveFormat();
+        nextSequence += 1;
+        journalRecordCount += 1;
+        return record;
+    }
+
+    private void awaitWrite(CompletableFuture<Void> written) throws IOException {
+        try {
+            written.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns and clears the first journal write failure since the last call.
+     * Write-behind failures happen after the command that caused them has returned, so they are reported here.
+     *
+     * @return The failure, or null if every write succeeded.
+     */
+    @Override
+    public IOException takeWriteFailure() {
+        return journalWriter.takeFailure();
+    }
+
+    /**
+     * Compacts the journal into a fresh snapshot once it has grown past the compaction threshold.
+     * The journal is rotated once the changes queued before it are written, and the snapshot is
+     * written on a background thread, so the caller never waits for the full rewrite.
+     *
+     * @param tasks Supplies an unchanging snapshot of the tasks, reflecting every journal record written so far.
+     */
+    @Override
+    public synchronized void compactIfNeeded(Supplier<List<Task>> tasks) {
+        if (journalRecordCount < COMPACTION_THRESHOLD || !compaction.isDone()) {
+            return;
+        }
+
+        List<Task> snapshot = tasks.get();
+        long checkpoint = nextSequence - 1;
+        journalRecordCount = 0;
+        compaction = journalWriter.runWhileClosed(this::rotateJournal, false).thenRunAsync(() -> {
+            try {
+                writeSnapshot(snapshot, checkpoint);
+                compactingJournalFile.delete();
+            } catch (IOException e) {
+                // Keep the rotated journal so that it is still replayed on the next load
+                Metrics.increment(MeteredTaskStorage.ERROR_COUNTER);
+            }
+        }, compactor);
+    }
+
+    private void rotateJournal() throws IOException {
+        // Records in a leftover rotated journal are already reflected in the tasks being snapshotted
+        compactingJournalFile.delete();
+        if (journalFile.exists() && !journalFile.renameTo(compactingJournalFile)) {
+            throw new IOException("Could not rotate " + journalFile.getName());
+        }
     }
 
     /**
      * Saves all tasks to the save file by overwriting the existing content.
-     * Rewrites the entire file with the provided list of tasks.
+     * Rewrites the entire file with the provided list of tasks and discards the journal.
+     * Waits for any compaction still in progress first, so that its older snapshot can never replace this one.
      *
-     * @param tasks ArrayList of tasks to be saved to the file.
+     * @param tasks List of tasks to be saved to the file.
      * @throws IOException If an error occurs while writing to the file.
      */
-    public void saveTasks(ArrayList<Task> tasks) throws IOException {
-        FileWriter writer = new FileWriter(saveFile, false);
+    @Override
+    public synchronized void saveTasks(List<Task> tasks) throws IOException {
+        // A failed compaction keeps its journal, which this snapshot supersedes, so only its end matters
+        compaction.exceptionally(e -> null).join();
+        writeSnapshot(tasks, nextSequence - 1);
+        awaitWrite(journalWriter.runWhileClosed(() -> {
+            compactingJournalFile.delete();
+            journalFile.delete();
+        }, true));
+        journalRecordCount = 0;
+    }
+
+    /**
+     * Waits for any compaction in progress, writes every queued journal record and stops the background threads.
+     *
+     * @throws IOException If a queued record or the last compaction's journal rotation could not be written.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        compaction.exceptionally(e -> null).join();
+        journalWriter.close();
+        compactor.shutdown();
+        IOException failure = journalWriter.takeFailure();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Writes a snapshot to a temporary file, forces it to disk and moves it over the save file,
+     * so that a crash mid-write never leaves a truncated save file behind.
+     * Every block of lines is followed by its checksum, and the file ends with a footer.
+     * Each snapshot gets its own temporary file, which is deleted if the snapshot cannot be written.
+     */
+    private void writeSnapshot(List<Task> tasks, long checkpoint) throws IOException {
+        File tempFile = File.createTempFile(saveFile.getName() + ".", SNAPSHOT_TEMP_SUFFIX,
+                saveFile.getAbsoluteFile().getParentFile());
+        String footer;
+        try {
+            try (FileOutputStream file = new FileOutputStream(tempFile, false)) {
+                footer = writeSnapshotLines(file, tasks, checkpoint);
+            }
+            try {
+                Files.move(tempFile.toPath(), saveFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile.toPath(), saveFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            tempFile.delete();
+            throw e;
+        }
+        recordKnownGood(footer);
+    }
+
+    /**
+     * Writes the lines of a snapshot to the file and forces them to disk.
+     *
+     * @return The footer line that ends the snapshot.
+     */
+    private static String writeSnapshotLines(FileOutputStream file, List<Task> tasks, long checkpoint)
+            throws IOException {
+        OutputStream out = new BufferedOutputStream(file, WRITE_BUFFER_SIZE);
+        CRC32 blockChecksum = new CRC32();
+        CRC32 fileChecksum = new CRC32();
+
+        writeLine(out, CHECKPOINT_TYPE + FIELD_SEPARATOR + checkpoint, blockChecksum, fileChecksum);
+        int blockLineCount = 1;
         for (Task task : tasks) {
-            writer.write(task.toSaveFormat() + "\n");
+            writeLine(out, task.toSaveFormat(), blockChecksum, fileChecksum);
+            blockLineCount += 1;
+            if (blockLineCount == LINES_PER_BLOCK) {
+                writeLine(out, CHECKSUM_TYPE + FIELD_SEPARATOR + formatChecksum(blockChecksum), null, fileChecksum);
+                blockChecksum.reset();
+                blockLineCount = 0;
+            }
+        }
+        if (blockLineCount > 0) {
+            writeLine(out, CHECKSUM_TYPE + FIELD_SEPARATOR + formatChecksum(blockChecksum), null, fileChecksum);
+        }
+        String footer = FOOTER_TYPE + FIELD_SEPARATOR + formatChecksum(fileChecksum);
+        writeLine(out, footer, null, null);
+        out.flush();
+        file.getFD().sync();
+        return footer;
+    }
+
+    private static void writeLine(OutputStream out, String line, CRC32 blockChecksum, CRC32 fileChecksum)
+            throws IOException {
+        byte[] bytes = (line + "\n").getBytes(Charset.defaultCharset());
+        if (blockChecksum != null) {
+            blockChecksum.update(bytes);
+        }
+        if (fileChecksum != null) {
+            fileChecksum.update(bytes);
+        }
+        out.write(bytes);
+    }
+
+    private static String formatChecksum(CRC32 checksum) {
+        return Long.toHexString(checksum.getValue());
+    }
+
+    /**
+     * Holds the tasks parsed from part of a snapshot, along with the last checkpoint seen in that part.
+     */
+    private static class ParsedChunk {
+        private final ArrayList<Task> tasks;
+        private final List<Integer> skippedLines = new ArrayList<>();
+        private int lineCount;
+        private long checkpoint;
+        private boolean hasCheckpoint;
+        private boolean hasChecksums;
+
+        private ParsedChunk(ArrayList<Task> tasks) {
+            this.tasks = tasks;
+        }
+
+        private void setCheckpoint(long checkpoint) {
+            this.checkpoint = checkpoint;
+            this.hasCheckpoint = true;
+        }
+
+        /**
+         * Appends a chunk that follows this one in the file, so that its checkpoint, if any, wins.
+         */
+        private void append(ParsedChunk next) {
+            tasks.addAll(next.tasks);
+            for (int lineNumber : next.skippedLines) {
+                skippedLines.add(lineCount + lineNumber);
+            }
+            lineCount += next.lineCount;
+            hasChecksums |= next.hasChecksums;
+            if (next.hasCheckpoint) {
+                setCheckpoint(next.checkpoint);
+            }
+        }
+    }
+
+    /**
+     * Checks each block of snapshot lines against the checksum that follows it, and the whole file against
+     * its footer, as the lines are read.
+     * Lines are checksummed as they were written, each ending in a single newline.
+     */
+    private static class SnapshotValidator {
+        private final String fileName;
+        private final LoadReport report;
+        private final CRC32 blockChecksum = new CRC32();
+        private final CRC32 fileChecksum = new CRC32();
+        private int blockStartLine = 1;
+        private int footerLine;
+        private boolean hasCorruptBlock;
+
+        private SnapshotValidator(String fileName, LoadReport report) {
+            this.fileName = fileName;
+            this.report = report;
+        }
+
+        private void checkLine(String line, int lineNumber) {
+            if (line.startsWith(FOOTER_TYPE + FIELD_SEPARATOR)) {
+                checkNoUncheckedLines(lineNumber);
+                checkFooter(line);
+                footerLine = lineNumber;
+                return;
+            }
+            byte[] bytes = (line + "\n").getBytes(Charset.defaultCharset());
+            fileChecksum.update(bytes);
+            if (line.startsWith(CHECKSUM_TYPE + FIELD_SEPARATOR)) {
+                String expected = line.substring(CHECKSUM_TYPE.length() + FIELD_SEPARATOR.length());
+                if (!expected.equals(formatChecksum(blockChecksum))) {
+                    addCorruptBlock(blockStartLine, lineNumber - 1);
+                }
+                blockChecksum.reset();
+                blockStartLine = lineNumber + 1;
+                return;
+            }
+            blockChecksum.update(bytes);
+        }
+
+        /**
+         * Reports a file whose blocks each match their checksums but which no longer matches its footer,
+         * as happens when whole blocks are removed or moved along with their checksums.
+         * A changed block also changes the file checksum, so it is only reported once, as that block.
+         */
+        private void checkFooter(String line) {
+            String expected = line.substring(FOOTER_TYPE.length() + FIELD_SEPARATOR.length());
+            if (!hasCorruptBlock && !expected.equals(formatChecksum(fileChecksum))) {
+                report.addFooterMismatch(fileName);
+            }
+        }
+
+        /**
+         * Reports any lines after the last checksum, which nothing vouches for.
+         */
+        private void finish(int lineCount) {
+            if (footerLine != lineCount) {
+                addCorruptBlock(footerLine + 1, lineCount);
+            }
+        }
+
+        private void checkNoUncheckedLines(int lineNumber) {
+            if (lineNumber > blockStartLine) {
+                addCorruptBlock(blockStartLine, lineNumber - 1);
+            }
+        }
+
+        private void addCorruptBlock(int firstLine, int lastLine) {
+            hasCorruptBlock = true;
+            report.addCorruptBlock(fileName, firstLine, lastLine);
         }
-        writer.close();
     }
 }
@@ -0,0 +1,161 @@
+package performative.storage;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Supplier;
+
+import performative.tasks.Task;
+
+/**
+ * Represents a storage backend that persists tasks for the Performative application.
+ * Implementations record each change to the task list as it happens, rather than rewriting every task.
+ * Backends may hold open files and background threads, so they must be closed once they are no longer needed.
+ */
+public interface TaskStorage extends AutoCloseable {
+    String BINARY_FILE_EXTENSION = ".bin";
+
+    /**
+     * Returns the storage backend for the given save file.
+     * Files ending in {@value #BINARY_FILE_EXTENSION} use the binary format, all others use the text format.
+     *
+     * @param filePath Path to the save file.
+     * @return The storage backend for the file.
+     */
+    static TaskStorage open(String filePath) {
+        return open(filePath, Durability.WRITE_BEHIND);
+    }
+
+    /**
+     * Returns the storage backend for the given save file, with the given durability.
+     * The time each operation takes is recorded in {@link performative.metrics.Metrics}.
+     *
+     * @param filePath Path to the save file.
+     * @param durability How durable each change must be before the command that made it returns.
+     * @return The storage backend for the file.
+     */
+    static TaskStorage open(String filePath, Durability durability) {
+        if (filePath.endsWith(BINARY_FILE_EXTENSION)) {
+            return new MeteredTaskStorage(new BinaryStorage(filePath, durability));
+        }
+        return new MeteredTaskStorage(new Storage(filePath, durability));
+    }
+
+    /**
+     * Initializes the save file by creating it if it doesn't exist.
+     *
+     * @return True if the file was successfully created or already exists, false otherwise.
+     */
+    boolean initializeFile();
+
+    /**
+     * Checks whether the save file exists.
+     *
+     * @return True if the save file exists, false otherwise.
+     */
+    boolean fileExists();
+
+    /**
+     * Loads all tasks from the save file.
+     *
+     * @return List of tasks loaded from the file.
+     * @throws IOException If an error occurs while reading the file.
+     */
+    List<Task> loadTasks() throws IOException;
+
+    /**
+     * Records that a task has been added.
+     *
+     * @param task The task that was added.
+     * @throws IOException If an error occurs while writing to the file.
+     */
+    void saveTask(Task task) throws IOException;
+
+    /**
+     * Records that a task has been marked as done.
+     *
+     * @param taskNumber The number of the marked task (1-indexed), or 0 if it was addressed by ID.
+     * @param task The task that was marked.
+     * @throws IOException If an error occurs while writing to the file.
+     */
+    void saveMark(int taskNumber, Task task) throws IOException;
+
+    /**
+     * Records that a task has been marked as not done.
+     *
+     * @param taskNumber The number of the unmarked task (1-indexed), or 0 if it was addressed by ID.
+     * @param task The task that was unmarked.
+     * @throws IOException If an error occurs while writing to the file.
+     */
+    void saveUnmark(int taskNumber, Task task) throws IOException;
+
+    /**
+     * Records that a task has been deleted.
+     *
+     * @param taskNumber The number the task had before it was deleted (1-indexed), or 0 if it was addressed by ID.
+     * @param task The task that was deleted.
+     * @throws IOException If an error occurs while writing to the file.
+     */
+    void saveDelete(int taskNumber, Task task) throws IOException;
+
+    /**
+     * Records that each of the tasks has been marked as done or as not done, as a single write.
+     *
+     * @param taskNumbers The numbers of the tasks (1-indexed), in the same order as the tasks.
+     * @param tasks The tasks that were marked or unmarked.
+     * @param isDone True if the tasks were marked as done, false if they were marked as not done.
+     * @throws IOException If an error occurs while writing to the file.
+     */
+    void saveMarks(int[] taskNumbers, List<Task> tasks, boolean isDone) throws IOException;
+
+    /**
+     * Records that each of the tasks has been deleted, as a single write.
+     *
+     * @param taskNumbers The numbers the tasks had before they were deleted (1-indexed), in ascending order.
+     * @param tasks The tasks that were deleted, in the same order as their numbers.
+     * @throws IOException If an error occurs while writing to the file.
+     */
+    void saveDeletes(int[] taskNumbers, List<Task> tasks) throws IOException;
+
+    /**
+     * Compacts the recorded changes into a fresh snapshot if enough of them have accumulated.
+     * The tasks are only fetched when compaction actually happens, so calling this after every change is cheap.
+     *
+     * @param tasks Supplies an unchanging snapshot of the tasks, reflecting every change recorded so far.
+     */
+    void compactIfNeeded(Supplier<List<Task>> tasks);
+
+    /**
+     * Saves all tasks by overwriting the existing content.
+     *
+     * @param tasks List of tasks to be saved to the file.
+     * @throws IOException If an error occurs while writing to the file.
+     */
+    void saveTasks(List<Task> tasks) throws IOException;
+
+    /**
+     * Returns and clears the first failure of a change that was written after its command returned.
+     *
+     * @return The failure, or null if there was none.
+     */
+    default IOException takeWriteFailure() {
+        return null;
+    }
+
+    /**
+     * Returns and clears the report of records that the last load skipped or found corrupt.
+     *
+     * @return The report, or null if the backend does not report problems or nothing has been loaded.
+     */
+    default LoadReport takeLoadReport() {
+        return null;
+    }
+
+    /**
+     * Writes any changes still waiting to be written, and releases the files and background threads of the backend.
+     * The backend must not be used afterwards.
+     *
+     * @throws IOException If a change could not be written or the files could not be closed.
+     */
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,42 @@
+package performative.tasks;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of tasks by their persistent ID, which also tracks the highest ID it has seen.
+ * Changes must be made one at a time, but lookups may run alongside a change.
+ */
+class IdIndex implements TaskIndex {
+    private final ConcurrentHashMap<Integer, Task> tasksById = new ConcurrentHashMap<>();
+    private int highestId = Task.UNASSIGNED_ID;
+
+    @Override
+    public void add(Task task) {
+        tasksById.put(task.getId(), task);
+        highestId = Math.max(highestId, task.getId());
+    }
+
+    @Override
+    public void remove(Task task) {
+        tasksById.remove(task.getId(), task);
+    }
+
+    /**
+     * Returns the task with the given ID, or null if there is none.
+     *
+     * @param id The ID of the task.
+     * @return The task with the ID, or null.
+     */
+    Task get(int id) {
+        return tasksById.get(id);
+    }
+
+    /**
+     * Returns the highest ID of any task added so far, even if that task has been removed since.
+     *
+     * @return The highest ID, or {@link Task#UNASSIGNED_ID} if no task has been added.
+     */
+    int getHighestId() {
+        return highestId;
+    }
+}
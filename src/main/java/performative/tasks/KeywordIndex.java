@@ -0,0 +1,156 @@
+package performative.tasks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Inverted index from description tokens to the tasks containing them.
+ * A token is a maximal run of letters or digits in a lowercased description.
+ * Keyword queries look up candidate tasks through the token vocabulary
+ * instead of scanning every task in the list.
+ * The vocabulary is sorted, so the tokens starting with a query are found together in one range of it.
+ * Changes must be made one at a time, but lookups may run alongside a change.
+ */
+class KeywordIndex implements TaskIndex {
+    private final ConcurrentSkipListMap<String, Set<Task>> tasksByToken = new ConcurrentSkipListMap<>();
+
+    /**
+     * Adds the tokens of the task's description to the index.
+     *
+     * @param task The task to index.
+     */
+    @Override
+    public void add(Task task) {
+        for (String token : tokenize(task.getLowerCaseDescription())) {
+            tasksByToken.computeIfAbsent(token, key -> ConcurrentHashMap.newKeySet()).add(task);
+        }
+    }
+
+    /**
+     * Removes the task from the index.
+     *
+     * @param task The task to remove.
+     */
+    @Override
+    public void remove(Task task) {
+        for (String token : tokenize(task.getLowerCaseDescription())) {
+            Set<Task> postings = tasksByToken.get(token);
+            if (postings == null) {
+                continue;
+            }
+            postings.remove(task);
+            if (postings.isEmpty()) {
+                tasksByToken.remove(token);
+            }
+        }
+    }
+
+    /**
+     * Returns the tasks whose description contains the keyword, ignoring case, in list order.
+     * Every letter-or-digit run of the keyword must lie inside a single token of a matching description,
+     * so candidates are gathered from the tokens containing the longest such run and then verified.
+     * Once the trigram index has been built, the tasks with tokens containing the run are found through it.
+     * Until then, tokens starting with the run are read from one range of the sorted vocabulary,
+     * and only the tokens containing it further in are found by scanning the vocabulary.
+     * Keywords without any letters or digits fall back to scanning all tasks.
+     *
+     * @param keyword The keyword to search for.
+     * @param allTasks All tasks in list order, used only for the fallback scan.
+     * @param trigramIndex Trigram index of the same tasks, or null if it has not been built.
+     * @return Matching tasks in list order.
+     */
+    ArrayList<Task> find(String keyword, List<Task> allTasks, TrigramIndex trigramIndex) {
+        String lowerKeyword = keyword.toLowerCase();
+        String queryToken = getLongestToken(lowerKeyword);
+        if (queryToken.isEmpty()) {
+            return findByScanning(keyword, allTasks);
+        }
+
+        Collection<Task> candidates;
+        if (trigramIndex != null) {
+            // Tokens starting with the run match its trigrams too, so the trigram index finds both kinds
+            candidates = trigramIndex.findContaining(queryToken);
+        } else {
+            candidates = new HashSet<>();
+            for (Set<Task> tasks : tasksByToken.subMap(queryToken, queryToken + Character.MAX_VALUE).values()) {
+                candidates.addAll(tasks);
+            }
+            // Iterating the keys alone avoids creating an entry for every token in the vocabulary
+            for (String token : tasksByToken.keySet()) {
+                if (token.indexOf(queryToken, 1) > 0) {
+                    addPostings(candidates, token);
+                }
+            }
+        }
+
+        ArrayList<Task> matchingTasks = new ArrayList<>();
+        for (Task task : candidates) {
+            if (task.getLowerCaseDescription().contains(lowerKeyword)) {
+                matchingTasks.add(task);
+            }
+        }
+        matchingTasks.sort(Comparator.comparingInt((Task task) -> task.sequence));
+        return matchingTasks;
+    }
+
+    /**
+     * Returns the tasks whose description contains the keyword, ignoring case, by checking every task.
+     * Used for keywords the index cannot help with, and while the index is still being built.
+     *
+     * @param keyword The keyword to search for.
+     * @param allTasks All tasks in list order.
+     * @return Matching tasks in list order.
+     */
+    static ArrayList<Task> findByScanning(String keyword, List<Task> allTasks) {
+        String lowerKeyword = keyword.toLowerCase();
+        ArrayList<Task> matchingTasks = new ArrayList<>();
+        for (Task task : allTasks) {
+            if (task.getLowerCaseDescription().contains(lowerKeyword)) {
+                matchingTasks.add(task);
+            }
+        }
+        return matchingTasks;
+    }
+
+    private void addPostings(Collection<Task> candidates, String token) {
+        Set<Task> tasks = tasksByToken.get(token);
+        // The token may have been removed since it was read
+        if (tasks != null) {
+            candidates.addAll(tasks);
+        }
+    }
+
+    private static String getLongestToken(String text) {
+        String longestToken = "";
+        for (String token : tokenize(text)) {
+            if (token.length() > longestToken.length()) {
+                longestToken = token;
+            }
+        }
+        return longestToken;
+    }
+
+    /**
+     * Returns the maximal runs of letters or digits in the text, in order.
+     */
+    static ArrayList<String> tokenize(String text) {
+        ArrayList<String> tokens = new ArrayList<>();
+        int tokenStart = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isTokenChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isTokenChar && tokenStart < 0) {
+                tokenStart = i;
+            } else if (!isTokenChar && tokenStart >= 0) {
+                tokens.add(text.substring(tokenStart, i));
+                tokenStart = -1;
+            }
+        }
+        return tokens;
+    }
+}
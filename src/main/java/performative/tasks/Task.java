@@ -5,8 +5,19 @@ package performative.tasks;
  * Serves as the base class for more specific task types.
  */
 public class Task {
-    private boolean isDone;
+    public static final int UNASSIGNED_ID = 0;
+
+    private int id;
+    private volatile boolean isDone;
     private String description;
+    /** Position of the task among every task its list has held, which rises along the list and never changes. */
+    int sequence;
+
+    // Rendered strings are built on first use and cleared by any change that would alter them
+    private volatile String displayString;
+    private volatile String saveString;
+    // Built on first use by the description indexes, and never cleared since the description never changes
+    private volatile String lowerCaseDescription;
 
     /**
      * Constructs a new Task with the specified description.
@@ -15,15 +26,47 @@ public class Task {
      * @param description The description of the task.
      */
     public Task(String description) {
+        this.id = UNASSIGNED_ID;
         this.isDone = false;
         this.description = description;
     }
 
+    /**
+     * Returns the persistent ID of the task.
+     * IDs are assigned once by the task list and never change, unlike task numbers.
+     *
+     * @return The task ID, or {@link #UNASSIGNED_ID} if the task has not been added to a list yet.
+     */
+    public int getId() {
+        return this.id;
+    }
+
+    /**
+     * Sets the persistent ID of the task.
+     *
+     * @param id The ID to assign to the task.
+     */
+    public void setId(int id) {
+        assert id > UNASSIGNED_ID : "Task ID must be positive";
+        this.id = id;
+        this.saveString = null;
+    }
+
+    /**
+     * Returns whether the task has been assigned a persistent ID.
+     *
+     * @return True if the task has an ID, false otherwise.
+     */
+    public boolean hasId() {
+        return this.id != UNASSIGNED_ID;
+    }
+
     /**
      * Marks the task as completed.
      */
     public void markDone() {
         this.isDone = true;
+        clearRenderedStrings();
     }
 
     /**
@@ -31,6 +74,12 @@ public class Task {
      */
     public void markUndone() {
         this.isDone = false;
+        clearRenderedStrings();
+    }
+
+    private void clearRenderedStrings() {
+        this.displayString = null;
+        this.saveString = null;
     }
 
     /**
@@ -51,24 +100,79 @@ public class Task {
         return this.description;
     }
 
+    /**
+     * Returns the description in lower case, for matching that ignores case.
+     * The string is built once and reused.
+     *
+     * @return The lowercased task description.
+     */
+    String getLowerCaseDescription() {
+        String lowerCase = lowerCaseDescription;
+        if (lowerCase == null) {
+            lowerCase = description.toLowerCase();
+            lowerCaseDescription = lowerCase;
+        }
+        return lowerCase;
+    }
+
     /**
      * Returns the task in a format suitable for saving to a file.
-     * Includes task type, completion status, and description.
+     * The string is built once and reused until the task is marked or given an ID.
      *
      * @return String representation for file storage.
      */
-    public String toSaveFormat() {
-        return "Task; " + (isDone ? "Complete" : "Incomplete") + "; " + description;
+    public final String toSaveFormat() {
+        String save = saveString;
+        if (save == null) {
+            boolean wasDone = isDone;
+            save = formatForSave();
+            saveString = save;
+            // A mark made while formatting may have cleared the cache before the stale string was stored
+            if (isDone != wasDone) {
+                saveString = null;
+            }
+        }
+        return save;
     }
 
     /**
      * Returns a string representation of the task for display purposes.
-     * Shows completion status with an X or space, followed by the description.
+     * The string is built once and reused until the task is marked.
      *
      * @return String representation of the task.
      */
     @Override
-    public String toString() {
+    public final String toString() {
+        String display = displayString;
+        if (display == null) {
+            boolean wasDone = isDone;
+            display = formatForDisplay();
+            displayString = display;
+            // A mark made while formatting may have cleared the cache before the stale string was stored
+            if (isDone != wasDone) {
+                displayString = null;
+            }
+        }
+        return display;
+    }
+
+    /**
+     * Formats the task for saving to a file.
+     * Includes task type, completion status, description, and ID.
+     *
+     * @return String representation for file storage.
+     */
+    protected String formatForSave() {
+        return "Task; " + (isDone ? "Complete" : "Incomplete") + "; " + description + "; " + id;
+    }
+
+    /**
+     * Formats the task for display.
+     * Shows completion status with an X or space, followed by the description.
+     *
+     * @return String representation of the task.
+     */
+    protected String formatForDisplay() {
         return "[" + (isDone ? "X" : " ") + "] " + description;
     }
 }
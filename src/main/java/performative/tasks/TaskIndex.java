@@ -0,0 +1,21 @@
+package performative.tasks;
+
+/**
+ * An index over the tasks of a {@link TaskList}, kept up to date as tasks are added and removed.
+ * Changes must be made one at a time, but lookups may run alongside a change.
+ */
+interface TaskIndex {
+    /**
+     * Adds the task to the index.
+     *
+     * @param task The task to index.
+     */
+    void add(Task task);
+
+    /**
+     * Removes the task from the index.
+     *
+     * @param task The task to remove.
+     */
+    void remove(Task task);
+}
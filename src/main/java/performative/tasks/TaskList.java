@@ -1,36 +1,111 @@
 package performative.tasks;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
  * Manages a collection of tasks for the Performative application.
  * Provides operations to add, delete, retrieve, and manage tasks.
+ * Tasks are kept in display order and are also indexed by their persistent ID
+ * and by the keywords in their descriptions, and deadlines and events are indexed by time.
+ * Descriptions are also indexed by trigram for fuzzy search.
+ * A new empty list has every index but the trigram index. A list of existing tasks starts without any,
+ * so that it can be used straight away: {@link #buildIndexes()} builds them, and until an index is built,
+ * the lookups it would serve scan the list instead.
+ *
+ * <p>Safe for use from several threads. Changes are made one at a time while holding the list's lock.
+ * Reads do not take the lock: they use an immutable snapshot of the list that each change replaces.
+ * The snapshot is split into chunks, so a change copies only the chunk it touches rather than every task.
+ * Readers such as background saves and rendering never see a half-applied change to the task order.
+ * Listeners are told about each change as it is made.
  */
 public class TaskList {
-    private static final int INITIAL_TASK_COUNT = 0;
     private static final int TASK_NUMBER_OFFSET = 1;
+    private static final int FIRST_TASK_ID = 1;
+    private static final int NEXT_ID_UNKNOWN = Task.UNASSIGNED_ID;
 
-    private ArrayList<Task> tasks;
-    private int taskCount;
+    /** Every task in list order, replaced by each change. */
+    private volatile TaskSnapshot tasks;
+    // Each index is null until it is first built
+    private volatile IdIndex tasksById;
+    private volatile KeywordIndex keywordIndex;
+    private volatile TemporalIndex temporalIndex;
+    private volatile TrigramIndex trigramIndex;
+    /** Changes made while indexes are being built, to apply to each one before it is published, or null. */
+    private List<Consumer<TaskIndex>> pendingIndexChanges;
+    private final List<TaskListListener> listeners = new CopyOnWriteArrayList<>();
+    /** ID to give the next task added without one, or {@link #NEXT_ID_UNKNOWN} until the tasks have been read. */
+    private int nextId;
+    /** Sequence to give the next task added, which places it after every earlier task. */
+    private int nextSequence;
 
     /**
      * Constructs a new empty TaskList.
      */
     public TaskList() {
-        this.tasks = new ArrayList<>();
-        this.taskCount = INITIAL_TASK_COUNT;
+        this.tasks = TaskSnapshot.EMPTY;
+        this.tasksById = new IdIndex();
+        this.keywordIndex = new KeywordIndex();
+        this.temporalIndex = new TemporalIndex();
+        this.nextId = FIRST_TASK_ID;
     }
 
     /**
      * Constructs a new TaskList with the provided list of tasks.
+     * No task is read here, so a list that decodes its tasks lazily is only decoded as its tasks are needed.
+     * The list is read in place rather than copied, so it must not be changed afterwards.
+     * Lookups scan the list until {@link #buildIndexes()} has built the indexes,
+     * which also assigns tasks without an ID one after the highest existing ID.
      *
-     * @param tasks ArrayList of existing tasks to initialize the TaskList with.
+     * @param tasks List of existing tasks to initialize the TaskList with.
      */
-    public TaskList(ArrayList<Task> tasks) {
+    public TaskList(List<Task> tasks) {
         assert tasks != null : "Task list cannot be null";
-        this.tasks = tasks;
-        this.taskCount = tasks.size();
-        assert this.taskCount >= 0 : "Task count must be non-negative";
+        this.tasks = TaskSnapshot.of(tasks);
+        this.nextId = NEXT_ID_UNKNOWN;
+        this.nextSequence = tasks.size();
+    }
+
+    /**
+     * Works out the next ID from every task in the list, unless it is already known.
+     * Reading every task is only needed when a task is added before the ID index has been built.
+     */
+    private void ensureNextIdKnown() {
+        if (nextId != NEXT_ID_UNKNOWN) {
+            return;
+        }
+        int highestId = Task.UNASSIGNED_ID;
+        for (Task task : tasks) {
+            highestId = Math.max(highestId, task.getId());
+        }
+        nextId = Math.max(FIRST_TASK_ID, highestId + 1);
+    }
+
+    private void addToIndexes(Task task) {
+        applyToIndexes(index -> index.add(task));
+    }
+
+    private void removeFromIndexes(Task task) {
+        applyToIndexes(index -> index.remove(task));
+    }
+
+    /**
+     * Applies the change to every index built so far, and records it for the indexes being built.
+     */
+    private void applyToIndexes(Consumer<TaskIndex> change) {
+        for (TaskIndex index : new TaskIndex[] {tasksById, keywordIndex, temporalIndex, trigramIndex}) {
+            if (index != null) {
+                change.accept(index);
+            }
+        }
+        if (pendingIndexChanges != null) {
+            pendingIndexChanges.add(change);
+        }
     }
 
     /**
@@ -40,9 +115,37 @@ public class TaskList {
      * @return The Task object at the specified position.
      */
     public Task getTask(int taskNumber) {
-        assert taskNumber >= 1 && taskNumber <= taskCount : "Task number must be between 1 and " + taskCount;
-        assert tasks.size() == taskCount : "Internal state inconsistent: tasks.size() != taskCount";
-        return this.tasks.get(taskNumber - TASK_NUMBER_OFFSET);
+        List<Task> current = tasks;
+        assert taskNumber >= 1 && taskNumber <= current.size() : "Task number must be between 1 and " + current.size();
+        return current.get(taskNumber - TASK_NUMBER_OFFSET);
+    }
+
+    /**
+     * Returns the task with the specified persistent ID.
+     * Scans the list if the ID index has not been built yet.
+     *
+     * @param id The ID of the task to retrieve.
+     * @return The Task object with the given ID, or null if no such task exists.
+     */
+    public Task getTaskById(int id) {
+        IdIndex index = tasksById;
+        if (index != null) {
+            return index.get(id);
+        }
+        List<Task> current = tasks;
+        int taskIndex = indexOfId(current, id);
+        return taskIndex < 0 ? null : current.get(taskIndex);
+    }
+
+    private static int indexOfId(List<Task> tasks, int id) {
+        int index = 0;
+        for (Task task : tasks) {
+            if (task.hasId() && task.getId() == id) {
+                return index;
+            }
+            index++;
+        }
+        return -1;
     }
 
     /**
@@ -51,49 +154,348 @@ public class TaskList {
      * @return The total count of tasks.
      */
     public int getTaskCount() {
-        return this.taskCount;
+        return tasks.size();
     }
 
     /**
-     * Returns the ArrayList containing all tasks.
+     * Returns an unmodifiable snapshot of all tasks.
+     * Later changes to the list do not affect the snapshot, so it can be read at leisure on any thread.
      *
-     * @return ArrayList of all tasks.
+     * @return List of all tasks, in list order.
      */
-    public ArrayList<Task> getTasks() {
-        return this.tasks;
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Returns up to the given number of tasks, starting at the specified task number.
+     * The page is a view of the current snapshot, so later changes to the list do not affect it.
+     *
+     * @param firstTaskNumber The number of the first task on the page (1-indexed).
+     * @param limit The maximum number of tasks on the page.
+     * @return List of the tasks on the page, in list order.
+     * @throws IndexOutOfBoundsException If there is no task with the first task number.
+     */
+    public List<Task> getTaskPage(int firstTaskNumber, int limit) {
+        assert limit > 0 : "Page limit must be positive";
+        List<Task> current = tasks;
+        int fromIndex = Objects.checkIndex(firstTaskNumber - TASK_NUMBER_OFFSET, current.size());
+        int toIndex = (int) Math.min(current.size(), (long) fromIndex + limit);
+        return current.subList(fromIndex, toIndex);
     }
 
     /**
      * Adds a new task to the list.
-     * Increases the task count by one.
+     * Assigns the task an ID if it does not have one.
      *
      * @param task The task to be added to the list.
      */
-    public void addTask(Task task) {
+    public synchronized void addTask(Task task) {
         assert task != null : "Cannot add null task";
-        int oldCount = this.taskCount;
-        this.tasks.add(task);
-        this.taskCount += 1;
-        assert this.taskCount == oldCount + 1 : "Task count should increase by exactly 1";
-        assert tasks.size() == taskCount : "Internal state inconsistent after adding task";
+        ensureNextIdKnown();
+        if (!task.hasId()) {
+            task.setId(nextId);
+        }
+        nextId = Math.max(nextId, task.getId() + 1);
+        task.sequence = nextSequence++;
+        addToIndexes(task);
+        tasks = tasks.withTaskAdded(task);
+        for (TaskListListener listener : listeners) {
+            listener.taskAdded(task);
+        }
     }
 
     /**
      * Removes and returns the task at the specified task number.
-     * Decreases the task count by one.
      *
      * @param taskNumber The number of the task to delete (1-indexed).
      * @return The removed Task object.
      */
-    public Task deleteTask(int taskNumber) {
-        assert taskNumber >= 1 && taskNumber <= taskCount : "Task number must be between 1 and " + taskCount;
-        assert taskCount > 0 : "Cannot delete from empty task list";
-        int oldCount = this.taskCount;
-        Task removedTask = tasks.remove(taskNumber - TASK_NUMBER_OFFSET);
-        this.taskCount -= 1;
-        assert this.taskCount == oldCount - 1 : "Task count should decrease by exactly 1";
-        assert tasks.size() == taskCount : "Internal state inconsistent after deleting task";
+    public synchronized Task deleteTask(int taskNumber) {
+        assert taskNumber >= 1 && taskNumber <= tasks.size() : "Task number must be between 1 and " + tasks.size();
+        Task removedTask = tasks.get(taskNumber - TASK_NUMBER_OFFSET);
+        tasks = tasks.withTasksRemoved(new int[] {taskNumber - TASK_NUMBER_OFFSET});
+        removeFromIndexes(removedTask);
+        rebuildTrigramIndexIfNeeded();
         assert removedTask != null : "Removed task should not be null";
+        notifyRemoved(removedTask);
+        return removedTask;
+    }
+
+    /**
+     * Removes and returns the tasks at the specified task numbers.
+     * Each chunk of the list holding a deleted task is copied once, rather than once per deleted task.
+     *
+     * @param taskNumbers The numbers of the tasks to delete (1-indexed), in ascending order without repeats.
+     * @return List of the removed tasks, in the same order as their task numbers.
+     */
+    public synchronized List<Task> deleteTasks(int[] taskNumbers) {
+        ArrayList<Task> removedTasks = new ArrayList<>(taskNumbers.length);
+        if (taskNumbers.length == 0) {
+            return removedTasks;
+        }
+        assert taskNumbers[0] >= 1 && taskNumbers[taskNumbers.length - 1] <= tasks.size()
+                : "Task numbers must be between 1 and " + tasks.size();
+
+        int[] indexes = new int[taskNumbers.length];
+        for (int i = 0; i < taskNumbers.length; i++) {
+            assert i == 0 || taskNumbers[i] > taskNumbers[i - 1] : "Task numbers must be ascending";
+            indexes[i] = taskNumbers[i] - TASK_NUMBER_OFFSET;
+            removedTasks.add(tasks.get(indexes[i]));
+        }
+        tasks = tasks.withTasksRemoved(indexes);
+        for (Task task : removedTasks) {
+            removeFromIndexes(task);
+        }
+        rebuildTrigramIndexIfNeeded();
+        for (Task task : removedTasks) {
+            notifyRemoved(task);
+        }
+        return removedTasks;
+    }
+
+    /**
+     * Removes and returns the task with the specified persistent ID.
+     * Once the ID index is built, the task's place in the list is found from its sequence by binary search,
+     * rather than by scanning the list, and only the chunk holding it is copied.
+     *
+     * @param id The ID of the task to delete.
+     * @return The removed Task object, or null if no such task exists.
+     */
+    public synchronized Task deleteTaskById(int id) {
+        int index;
+        if (tasksById != null) {
+            Task task = tasksById.get(id);
+            index = task == null ? -1 : tasks.indexOfSequence(task.sequence);
+            assert task == null || index >= 0 : "Indexed task should be in the list";
+        } else {
+            index = indexOfId(tasks, id);
+        }
+        if (index < 0) {
+            return null;
+        }
+        Task removedTask = tasks.get(index);
+        tasks = tasks.withTasksRemoved(new int[] {index});
+        removeFromIndexes(removedTask);
+        rebuildTrigramIndexIfNeeded();
+        notifyRemoved(removedTask);
         return removedTask;
     }
+
+    /**
+     * Rebuilds the trigram index in the background once removed tasks have left it mostly empty.
+     * The old index keeps answering searches until the new one is published.
+     * Must only be called once the removed tasks are gone from the list and its snapshot.
+     */
+    private void rebuildTrigramIndexIfNeeded() {
+        if (trigramIndex == null || !trigramIndex.needsRebuild()) {
+            return;
+        }
+        TaskSnapshot tasksToIndex = startIndexBuild();
+        if (tasksToIndex != null) {
+            CompletableFuture.runAsync(() -> buildIndexes(tasksToIndex));
+        }
+    }
+
+    /**
+     * Builds the indexes the list does not have yet on the calling thread, publishing each one as soon as it is built:
+     * first the ID index, then the time, keyword and trigram indexes.
+     * Also rebuilds the trigram index if removed tasks have left it mostly empty.
+     * The tasks are indexed without holding the list's lock, so changes are not held up while the indexes are built.
+     * Changes made meanwhile are applied to each new index just before it is published.
+     * Returns straight away if indexes are already being built.
+     */
+    public void buildIndexes() {
+        TaskSnapshot tasksToIndex = startIndexBuild();
+        if (tasksToIndex != null) {
+            buildIndexes(tasksToIndex);
+        }
+    }
+
+    /**
+     * Starts recording changes for new indexes, and returns the tasks they should start from,
+     * or null if indexes are already being built.
+     */
+    private synchronized TaskSnapshot startIndexBuild() {
+        if (pendingIndexChanges != null) {
+            return null;
+        }
+        pendingIndexChanges = new ArrayList<>();
+        return tasks;
+    }
+
+    private void buildIndexes(TaskSnapshot tasksToIndex) {
+        try {
+            if (tasksById == null) {
+                buildIdIndex(tasksToIndex);
+            }
+            if (temporalIndex == null) {
+                publishIndex(indexAll(new TemporalIndex(), tasksToIndex), index -> temporalIndex = index);
+            }
+            if (keywordIndex == null) {
+                publishIndex(indexAll(new KeywordIndex(), tasksToIndex), index -> keywordIndex = index);
+            }
+            if (isTrigramIndexStale()) {
+                publishIndex(indexAll(new TrigramIndex(), tasksToIndex), index -> trigramIndex = index);
+            }
+        } finally {
+            stopRecordingIndexChanges();
+        }
+    }
+
+    private static <T extends TaskIndex> T indexAll(T index, TaskSnapshot tasksToIndex) {
+        for (Task task : tasksToIndex) {
+            index.add(task);
+        }
+        return index;
+    }
+
+    /**
+     * Builds the ID index, giving every task its sequence first, since lookups by ID rely on it.
+     */
+    private void buildIdIndex(TaskSnapshot tasksToIndex) {
+        tasksToIndex.assignSequences();
+        IdIndex index = new IdIndex();
+        List<Task> tasksWithoutIds = new ArrayList<>();
+        for (Task task : tasksToIndex) {
+            if (task.hasId()) {
+                index.add(task);
+            } else {
+                tasksWithoutIds.add(task);
+            }
+        }
+        publishIdIndex(index, tasksWithoutIds);
+    }
+
+    /**
+     * Settles the next ID from the highest indexed one, unless a task added meanwhile already has,
+     * and gives the tasks without an ID their IDs before publishing the index.
+     */
+    private synchronized void publishIdIndex(IdIndex index, List<Task> tasksWithoutIds) {
+        if (nextId == NEXT_ID_UNKNOWN) {
+            nextId = Math.max(FIRST_TASK_ID, index.getHighestId() + 1);
+        }
+        for (Task task : tasksWithoutIds) {
+            task.setId(nextId);
+            nextId++;
+            index.add(task);
+        }
+        publishIndex(index, published -> tasksById = published);
+    }
+
+    /**
+     * Applies the changes made during the build to the new index and publishes it.
+     */
+    private synchronized <T extends TaskIndex> void publishIndex(T index, Consumer<T> publisher) {
+        for (Consumer<TaskIndex> change : pendingIndexChanges) {
+            change.accept(index);
+        }
+        publisher.accept(index);
+    }
+
+    private synchronized boolean isTrigramIndexStale() {
+        return trigramIndex == null || trigramIndex.needsRebuild();
+    }
+
+    private synchronized void stopRecordingIndexChanges() {
+        pendingIndexChanges = null;
+    }
+
+    private void notifyRemoved(Task task) {
+        for (TaskListListener listener : listeners) {
+            listener.taskRemoved(task);
+        }
+    }
+
+    /**
+     * Marks the task as done or not done, and tells the listeners.
+     *
+     * @param task A task in the list.
+     * @param isDone Whether the task is now done.
+     */
+    public synchronized void setDone(Task task, boolean isDone) {
+        if (isDone) {
+            task.markDone();
+        } else {
+            task.markUndone();
+        }
+        for (TaskListListener listener : listeners) {
+            listener.taskDoneChanged(task);
+        }
+    }
+
+    /**
+     * Registers a listener to be told about every later change to the list.
+     *
+     * @param listener The listener to register.
+     */
+    public void addListener(TaskListListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Returns the tasks whose description contains the keyword, ignoring case.
+     * Uses the keyword index rather than scanning every task once it is built,
+     * and reads the current snapshot without copying it.
+     * Runs without the list's lock, so a task added or deleted at the same moment may or may not be included.
+     *
+     * @param keyword The keyword to search for.
+     * @return ArrayList of matching tasks in list order.
+     */
+    public ArrayList<Task> findTasks(String keyword) {
+        KeywordIndex index = keywordIndex;
+        if (index == null) {
+            return KeywordIndex.findByScanning(keyword, tasks);
+        }
+        return index.find(keyword, tasks, trigramIndex);
+    }
+
+    /**
+     * Returns the tasks whose descriptions are most similar to the query, best first.
+     * Tolerates typos by matching the trigrams of the query's words rather than the exact text.
+     * Until the trigram index has been built, returns the tasks containing the query, in list order, instead.
+     * Runs without the list's lock, so a task added or deleted at the same moment may or may not be included.
+     *
+     * @param query The text to search for.
+     * @param limit The maximum number of tasks to return.
+     * @return Up to {@code limit} matching tasks, most similar first.
+     */
+    public List<Task> searchTasks(String query, int limit) {
+        TrigramIndex index = trigramIndex;
+        if (index == null) {
+            ArrayList<Task> matchingTasks = findTasks(query);
+            return matchingTasks.subList(0, Math.max(0, Math.min(limit, matchingTasks.size())));
+        }
+        return index.search(query, limit);
+    }
+
+    /**
+     * Returns the deadlines due and the events running at any time in the given range, in time order.
+     * Once the time index is built, only the part of it inside the range is read, rather than every task.
+     *
+     * @param from The start of the range.
+     * @param to The end of the range, which is not included.
+     * @return Matching deadlines and events, ordered by due time or start time.
+     */
+    public List<Task> findTasksBetween(LocalDateTime from, LocalDateTime to) {
+        TemporalIndex index = temporalIndex;
+        if (index == null) {
+            return TemporalIndex.findBetweenByScanning(tasks, from, to);
+        }
+        return index.findBetween(from, to);
+    }
+
+    /**
+     * Returns the deadlines due before the given time, in time order.
+     *
+     * @param time The time the deadlines must be due before.
+     * @return Matching deadlines, ordered by due time.
+     */
+    public List<Task> findDeadlinesBefore(LocalDateTime time) {
+        TemporalIndex index = temporalIndex;
+        if (index == null) {
+            return TemporalIndex.findDeadlinesBeforeByScanning(tasks, time);
+        }
+        return index.findDeadlinesBefore(time);
+    }
 }
@@ -0,0 +1,29 @@
+package performative.tasks;
+
+/**
+ * Receives changes made to a {@link TaskList}.
+ * Each method is called on the thread that made the change, while the list's lock is held,
+ * so implementations should return quickly and must not change the list themselves.
+ */
+public interface TaskListListener {
+    /**
+     * Called after a task is added to the list.
+     *
+     * @param task The added task.
+     */
+    void taskAdded(Task task);
+
+    /**
+     * Called after a task is removed from the list.
+     *
+     * @param task The removed task.
+     */
+    void taskRemoved(Task task);
+
+    /**
+     * Called after a task in the list is marked as done or not done.
+     *
+     * @param task The changed task.
+     */
+    void taskDoneChanged(Task task);
+}
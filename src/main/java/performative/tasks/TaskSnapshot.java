@@ -0,0 +1,346 @@
+package performative.tasks;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * Immutable list of the tasks in a {@link TaskList}, in list order.
+ * Tasks are held in chunks of at most {@value #MAX_CHUNK_SIZE}, so a change copies only the chunks it touches
+ * and the array of chunks, rather than every task, and a fresh snapshot can be published after every change.
+ * A chunk that deletions leave small is merged with its neighbour, so the chunks stay mostly full.
+ * A list of existing tasks is wrapped in chunks that read it in place, and is only copied a chunk at a time
+ * as those chunks change.
+ *
+ * <p>Tasks are kept in order of their {@link Task#sequence}, so a task can be found from its sequence
+ * by binary search. The tasks of a wrapped list have their indexes in it as their sequences.
+ */
+final class TaskSnapshot extends AbstractList<Task> implements RandomAccess {
+    static final int MAX_CHUNK_SIZE = 512;
+    private static final int MIN_CHUNK_SIZE = MAX_CHUNK_SIZE / 4;
+
+    static final TaskSnapshot EMPTY = new TaskSnapshot(new Chunk[0]);
+
+    private final Chunk[] chunks;
+    /** Index of the first task of each chunk. */
+    private final int[] chunkStarts;
+    private final int size;
+
+    private TaskSnapshot(Chunk[] chunks) {
+        this.chunks = chunks;
+        this.chunkStarts = new int[chunks.length];
+        int start = 0;
+        for (int i = 0; i < chunks.length; i++) {
+            chunkStarts[i] = start;
+            start += chunks[i].size();
+        }
+        this.size = start;
+    }
+
+    /**
+     * Returns a snapshot of the given tasks, which must not change afterwards.
+     * The tasks are read in place rather than copied.
+     *
+     * @param tasks The tasks, in list order.
+     * @return Snapshot of the tasks.
+     */
+    static TaskSnapshot of(List<Task> tasks) {
+        Chunk[] chunks = new Chunk[(tasks.size() + MAX_CHUNK_SIZE - 1) / MAX_CHUNK_SIZE];
+        for (int i = 0; i < chunks.length; i++) {
+            int from = i * MAX_CHUNK_SIZE;
+            chunks[i] = new RangeChunk(tasks, from, Math.min(MAX_CHUNK_SIZE, tasks.size() - from));
+        }
+        return new TaskSnapshot(chunks);
+    }
+
+    /**
+     * Returns a snapshot with the task added at the end.
+     * Only the last chunk and the array of chunks are copied.
+     *
+     * @param task The task to add.
+     * @return The new snapshot.
+     */
+    TaskSnapshot withTaskAdded(Task task) {
+        Chunk last = chunks.length == 0 ? null : chunks[chunks.length - 1];
+        if (last instanceof ArrayChunk && last.size() < MAX_CHUNK_SIZE) {
+            Chunk[] newChunks = chunks.clone();
+            Task[] tasks = Arrays.copyOf(((ArrayChunk) last).tasks, last.size() + 1);
+            tasks[tasks.length - 1] = task;
+            newChunks[newChunks.length - 1] = new ArrayChunk(tasks);
+            return new TaskSnapshot(newChunks);
+        }
+        Chunk[] newChunks = Arrays.copyOf(chunks, chunks.length + 1);
+        newChunks[newChunks.length - 1] = new ArrayChunk(new Task[] {task});
+        return new TaskSnapshot(newChunks);
+    }
+
+    /**
+     * Returns a snapshot without the tasks at the given indexes.
+     * Only the chunks holding those tasks and the array of chunks are copied.
+     *
+     * @param indexes The indexes of the tasks to remove, in ascending order without repeats.
+     * @return The new snapshot.
+     */
+    TaskSnapshot withTasksRemoved(int[] indexes) {
+        Chunk[] newChunks = new Chunk[chunks.length];
+        int chunkCount = 0;
+        int next = 0;
+        for (int i = 0; i < chunks.length; i++) {
+            Chunk chunk = chunks[i];
+            int chunkEnd = chunkStarts[i] + chunk.size();
+            if (next == indexes.length || indexes[next] >= chunkEnd) {
+                chunkCount = append(newChunks, chunkCount, chunk);
+                continue;
+            }
+            Task[] remaining = new Task[chunk.size()];
+            chunk.copyTo(remaining, 0);
+            int remainingCount = 0;
+            for (int j = 0; j < remaining.length; j++) {
+                if (next < indexes.length && indexes[next] == chunkStarts[i] + j) {
+                    next++;
+                } else {
+                    remaining[remainingCount++] = remaining[j];
+                }
+            }
+            if (remainingCount > 0) {
+                chunkCount = append(newChunks, chunkCount, new ArrayChunk(Arrays.copyOf(remaining, remainingCount)));
+            }
+        }
+        assert next == indexes.length : "Indexes must be ascending and inside the list";
+        return new TaskSnapshot(Arrays.copyOf(newChunks, chunkCount));
+    }
+
+    /**
+     * Adds the chunk after the first {@code count} chunks, merging it with the last of them if either is small,
+     * and returns the new number of chunks.
+     */
+    private static int append(Chunk[] chunks, int count, Chunk chunk) {
+        if (count == 0) {
+            chunks[0] = chunk;
+            return 1;
+        }
+        Chunk previous = chunks[count - 1];
+        if (previous.size() >= MIN_CHUNK_SIZE && chunk.size() >= MIN_CHUNK_SIZE) {
+            chunks[count] = chunk;
+            return count + 1;
+        }
+        Task[] merged = new Task[previous.size() + chunk.size()];
+        previous.copyTo(merged, 0);
+        chunk.copyTo(merged, previous.size());
+        if (merged.length <= MAX_CHUNK_SIZE) {
+            chunks[count - 1] = new ArrayChunk(merged);
+            return count;
+        }
+        // Too many for one chunk, so split them evenly, leaving both halves well above the minimum
+        int half = merged.length / 2;
+        chunks[count - 1] = new ArrayChunk(Arrays.copyOfRange(merged, 0, half));
+        chunks[count] = new ArrayChunk(Arrays.copyOfRange(merged, half, merged.length));
+        return count + 1;
+    }
+
+    @Override
+    public Task get(int index) {
+        int chunkIndex = findChunk(index);
+        return chunks[chunkIndex].get(index - chunkStarts[chunkIndex]);
+    }
+
+    /**
+     * Returns the index of the task with the given sequence, or -1 if it is not in the snapshot.
+     *
+     * @param sequence The sequence of the task to find.
+     * @return The index of the task, or -1 if no task has the sequence.
+     */
+    int indexOfSequence(int sequence) {
+        int low = 0;
+        int high = chunks.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            Chunk chunk = chunks[middle];
+            if (sequence < chunk.getSequence(0)) {
+                high = middle - 1;
+            } else if (sequence > chunk.getSequence(chunk.size() - 1)) {
+                low = middle + 1;
+            } else {
+                int indexInChunk = chunk.indexOfSequence(sequence);
+                return indexInChunk < 0 ? -1 : chunkStarts[middle] + indexInChunk;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gives each task still read in place from a wrapped list its index in that list as its sequence.
+     * Tasks in chunks of their own were given theirs when they were added or copied.
+     * Must be called before anything looks tasks up by their sequence.
+     */
+    void assignSequences() {
+        for (Chunk chunk : chunks) {
+            if (chunk instanceof RangeChunk) {
+                RangeChunk range = (RangeChunk) chunk;
+                for (int i = 0; i < range.size; i++) {
+                    range.tasks.get(range.from + i).sequence = range.from + i;
+                }
+            }
+        }
+    }
+
+    private int findChunk(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        int chunkIndex = Arrays.binarySearch(chunkStarts, index);
+        return chunkIndex >= 0 ? chunkIndex : -chunkIndex - 2;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return new Iterator<>() {
+            private int chunkIndex;
+            private int indexInChunk;
+
+            @Override
+            public boolean hasNext() {
+                return chunkIndex < chunks.length;
+            }
+
+            @Override
+            public Task next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Chunk chunk = chunks[chunkIndex];
+                Task task = chunk.get(indexInChunk);
+                indexInChunk++;
+                if (indexInChunk == chunk.size()) {
+                    chunkIndex++;
+                    indexInChunk = 0;
+                }
+                return task;
+            }
+        };
+    }
+
+    /**
+     * A run of consecutive tasks in a snapshot. Never empty.
+     */
+    private abstract static class Chunk {
+        abstract int size();
+
+        abstract Task get(int index);
+
+        abstract int getSequence(int index);
+
+        abstract int indexOfSequence(int sequence);
+
+        void copyTo(Task[] destination, int offset) {
+            for (int i = 0; i < size(); i++) {
+                destination[offset + i] = get(i);
+            }
+        }
+    }
+
+    /**
+     * A chunk holding its own array of tasks.
+     */
+    private static final class ArrayChunk extends Chunk {
+        private final Task[] tasks;
+
+        ArrayChunk(Task[] tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        int size() {
+            return tasks.length;
+        }
+
+        @Override
+        Task get(int index) {
+            return tasks[index];
+        }
+
+        @Override
+        int getSequence(int index) {
+            return tasks[index].sequence;
+        }
+
+        @Override
+        int indexOfSequence(int sequence) {
+            int low = 0;
+            int high = tasks.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int middleSequence = tasks[middle].sequence;
+                if (middleSequence < sequence) {
+                    low = middle + 1;
+                } else if (middleSequence > sequence) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        void copyTo(Task[] destination, int offset) {
+            System.arraycopy(tasks, 0, destination, offset, tasks.length);
+        }
+    }
+
+    /**
+     * A chunk reading a range of an existing list in place.
+     */
+    private static final class RangeChunk extends Chunk {
+        private final List<Task> tasks;
+        private final int from;
+        private final int size;
+
+        RangeChunk(List<Task> tasks, int from, int size) {
+            this.tasks = tasks;
+            this.from = from;
+            this.size = size;
+        }
+
+        @Override
+        int size() {
+            return size;
+        }
+
+        @Override
+        Task get(int index) {
+            return tasks.get(from + index);
+        }
+
+        @Override
+        int getSequence(int index) {
+            return from + index;
+        }
+
+        @Override
+        int indexOfSequence(int sequence) {
+            return sequence >= from && sequence < from + size ? sequence - from : -1;
+        }
+
+        /**
+         * Copies the tasks, giving each its index in the wrapped list as its sequence,
+         * since the chunk they are copied into reads sequences from the tasks themselves.
+         */
+        @Override
+        void copyTo(Task[] destination, int offset) {
+            for (int i = 0; i < size; i++) {
+                Task task = tasks.get(from + i);
+                task.sequence = from + i;
+                destination[offset + i] = task;
+            }
+        }
+    }
+}
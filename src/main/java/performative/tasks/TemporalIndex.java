@@ -0,0 +1,211 @@
+package performative.tasks;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Sorted index of deadlines by due time and events by start time.
+ * Time range queries walk only the part of the index inside the range, instead of scanning every task.
+ * Events are found by their start time, looking back as far as the longest event in the index,
+ * so that events which started before a range but are still running are included.
+ * Event lengths are counted in a sorted multiset, so the lookback shrinks again when the longest event is removed.
+ * Changes must be made one at a time, but queries may run alongside a change.
+ */
+class TemporalIndex implements TaskIndex {
+    private static final Comparator<Task> BY_ID = Comparator.comparingInt(Task::getId);
+
+    private final ConcurrentSkipListMap<LocalDateTime, Set<Task>> deadlinesByDue = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<LocalDateTime, Set<Task>> eventsByStart = new ConcurrentSkipListMap<>();
+    // Only used by changes, which are made one at a time
+    private final TreeMap<Duration, Integer> eventCountsByLength = new TreeMap<>();
+    private volatile Duration longestEvent = Duration.ZERO;
+
+    /**
+     * Adds the task to the index if it is a deadline or an event.
+     *
+     * @param task The task to index.
+     */
+    @Override
+    public void add(Task task) {
+        if (task instanceof Deadline) {
+            addTo(deadlinesByDue, ((Deadline) task).getBy(), task);
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            // Lengthen the lookback first, so a query that finds the event also looks back far enough for it
+            eventCountsByLength.merge(getLength(event), 1, Integer::sum);
+            longestEvent = eventCountsByLength.lastKey();
+            addTo(eventsByStart, event.getStart(), task);
+        }
+    }
+
+    /**
+     * Removes the task from the index.
+     *
+     * @param task The task to remove.
+     */
+    @Override
+    public void remove(Task task) {
+        if (task instanceof Deadline) {
+            removeFrom(deadlinesByDue, ((Deadline) task).getBy(), task);
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            if (!removeFrom(eventsByStart, event.getStart(), task)) {
+                return;
+            }
+            // Shortened only once the event is gone, so the lookback always covers every event still indexed
+            eventCountsByLength.computeIfPresent(getLength(event), (length, count) -> count == 1 ? null : count - 1);
+            longestEvent = eventCountsByLength.isEmpty() ? Duration.ZERO : eventCountsByLength.lastKey();
+        }
+    }
+
+    private static Duration getLength(Event event) {
+        return Duration.between(event.getStart(), getEffectiveEnd(event));
+    }
+
+    private static void addTo(ConcurrentSkipListMap<LocalDateTime, Set<Task>> index, LocalDateTime time, Task task) {
+        index.computeIfAbsent(time, key -> new ConcurrentSkipListSet<>(BY_ID)).add(task);
+    }
+
+    /**
+     * Removes the task from the tasks at the given time, and returns whether it was there.
+     */
+    private static boolean removeFrom(ConcurrentSkipListMap<LocalDateTime, Set<Task>> index, LocalDateTime time,
+            Task task) {
+        Set<Task> tasks = index.get(time);
+        if (tasks == null || !tasks.remove(task)) {
+            return false;
+        }
+        if (tasks.isEmpty()) {
+            index.remove(time);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the deadlines due and the events running at any time from the start of the range
+     * up to but not including its end, ordered by due time or start time.
+     *
+     * @param from The start of the range.
+     * @param to The end of the range.
+     * @return Matching deadlines and events in time order.
+     */
+    List<Task> findBetween(LocalDateTime from, LocalDateTime to) {
+        List<Task> deadlines = flatten(deadlinesByDue.subMap(from, true, to, false).values());
+
+        List<Task> events = new ArrayList<>();
+        NavigableMap<LocalDateTime, Set<Task>> candidates =
+                eventsByStart.subMap(from.minus(longestEvent), true, to, false);
+        for (Set<Task> startingTogether : candidates.values()) {
+            for (Task task : startingTogether) {
+                if (!getEffectiveEnd((Event) task).isBefore(from)) {
+                    events.add(task);
+                }
+            }
+        }
+        return mergeByTime(deadlines, events);
+    }
+
+    /**
+     * Returns what {@link #findBetween(LocalDateTime, LocalDateTime)} would for an index of the given tasks,
+     * by checking every task. Used while the index is still being built.
+     *
+     * @param tasks The tasks to check.
+     * @param from The start of the range.
+     * @param to The end of the range.
+     * @return Matching deadlines and events in time order.
+     */
+    static List<Task> findBetweenByScanning(List<Task> tasks, LocalDateTime from, LocalDateTime to) {
+        TemporalIndex matches = new TemporalIndex();
+        for (Task task : tasks) {
+            if (task instanceof Deadline) {
+                LocalDateTime due = ((Deadline) task).getBy();
+                if (!due.isBefore(from) && due.isBefore(to)) {
+                    matches.add(task);
+                }
+            } else if (task instanceof Event) {
+                Event event = (Event) task;
+                if (event.getStart().isBefore(to) && !getEffectiveEnd(event).isBefore(from)) {
+                    matches.add(task);
+                }
+            }
+        }
+        return matches.findBetween(from, to);
+    }
+
+    /**
+     * Returns when the event ends, treating an event that ends before it starts as ending when it starts.
+     * Day-of-week events such as "/from Mon /to Sun" can end up that way.
+     */
+    private static LocalDateTime getEffectiveEnd(Event event) {
+        return event.getEnd().isBefore(event.getStart()) ? event.getStart() : event.getEnd();
+    }
+
+    /**
+     * Returns the deadlines due before the given time, ordered by due time.
+     *
+     * @param time The time the deadlines must be due before.
+     * @return Matching deadlines in time order.
+     */
+    List<Task> findDeadlinesBefore(LocalDateTime time) {
+        return flatten(deadlinesByDue.headMap(time, false).values());
+    }
+
+    /**
+     * Returns what {@link #findDeadlinesBefore(LocalDateTime)} would for an index of the given tasks,
+     * by checking every task. Used while the index is still being built.
+     *
+     * @param tasks The tasks to check.
+     * @param time The time the deadlines must be due before.
+     * @return Matching deadlines in time order.
+     */
+    static List<Task> findDeadlinesBeforeByScanning(List<Task> tasks, LocalDateTime time) {
+        TemporalIndex matches = new TemporalIndex();
+        for (Task task : tasks) {
+            if (task instanceof Deadline && ((Deadline) task).getBy().isBefore(time)) {
+                matches.add(task);
+            }
+        }
+        return matches.findDeadlinesBefore(time);
+    }
+
+    private static List<Task> flatten(Collection<Set<Task>> groups) {
+        List<Task> tasks = new ArrayList<>();
+        for (Set<Task> group : groups) {
+            tasks.addAll(group);
+        }
+        return tasks;
+    }
+
+    /**
+     * Merges deadlines and events, each already in time order, into one list in time order.
+     * A deadline and an event at the same time keep deadlines first.
+     */
+    private static List<Task> mergeByTime(List<Task> deadlines, List<Task> events) {
+        List<Task> merged = new ArrayList<>(deadlines.size() + events.size());
+        int d = 0;
+        int e = 0;
+        while (d < deadlines.size() && e < events.size()) {
+            Deadline deadline = (Deadline) deadlines.get(d);
+            Event event = (Event) events.get(e);
+            if (!event.getStart().isBefore(deadline.getBy())) {
+                merged.add(deadline);
+                d++;
+            } else {
+                merged.add(event);
+                e++;
+            }
+        }
+        merged.addAll(deadlines.subList(d, deadlines.size()));
+        merged.addAll(events.subList(e, events.size()));
+        return merged;
+    }
+}
@@ -15,22 +15,22 @@ public class Todo extends Task {
     }
 
     /**
-     * Returns the todo task in a format suitable for saving to a file.
+     * Formats the todo task for saving to a file.
      *
      * @return String representation for file storage with Todo type identifier.
      */
     @Override
-    public String toSaveFormat() {
-        return "Todo; " + (isDone() ? "Complete" : "Incomplete") + "; " + getDescription();
+    protected String formatForSave() {
+        return "Todo; " + (isDone() ? "Complete" : "Incomplete") + "; " + getDescription() + "; " + getId();
     }
 
     /**
-     * Returns a string representation of the todo task for display purposes.
+     * Formats the todo task for display.
      *
      * @return String representation with [T] prefix indicating todo type.
      */
     @Override
-    public String toString() {
-        return "[T]" + super.toString();
+    protected String formatForDisplay() {
+        return "[T]" + super.formatForDisplay();
     }
 }
@@ -0,0 +1,369 @@
+package performative.tasks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Inverted index from the trigrams of description tokens to the tasks containing them, for typo-tolerant search.
+ * Each token is padded with two spaces in front and one behind, so "book" has the trigrams
+ * "  b", " bo", "boo", "ook" and "ok ". A misspelt query still shares most of its trigrams with the word it meant.
+ * Tasks are ranked by how many of the query's trigrams they share, then by how few trigrams they have,
+ * so that shorter, closer descriptions come first, and only the best few are kept in a bounded heap.
+ * Changes must be made one at a time, but searches may run alongside a change.
+ */
+class TrigramIndex implements TaskIndex {
+    static final int TRIGRAM_LENGTH = 3;
+    // Tasks must share at least this fraction of the query's trigrams, the same default as PostgreSQL's pg_trgm
+    private static final double MIN_SIMILARITY = 0.3;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MIN_REMOVED_BEFORE_REBUILD = 1024;
+    private static final int CHAR_BITS = 16;
+    // Shared counts are kept as shorts, halving the memory each search sweeps, so queries are capped to fit
+    private static final int MAX_QUERY_TRIGRAMS = Short.MAX_VALUE;
+
+    private final ConcurrentHashMap<Long, Postings> postingsByTrigram = new ConcurrentHashMap<>();
+    // Only used by changes, which are made one at a time
+    private final HashMap<Task, Integer> slotsByTask = new HashMap<>();
+    // Removed tasks leave an empty slot behind, since their slots are still listed in the postings
+    private volatile Task[] tasksBySlot = new Task[INITIAL_CAPACITY];
+    private volatile int[] trigramCounts = new int[INITIAL_CAPACITY];
+    private volatile int slotCount;
+    private int removedCount;
+
+    /**
+     * Adds the trigrams of the task's description to the index.
+     *
+     * @param task The task to index.
+     */
+    @Override
+    public void add(Task task) {
+        long[] trigrams = getTrigrams(task.getLowerCaseDescription());
+        int slot = slotCount;
+        if (slot == tasksBySlot.length) {
+            int capacity = slot + (slot >> 1);
+            tasksBySlot = Arrays.copyOf(tasksBySlot, capacity);
+            trigramCounts = Arrays.copyOf(trigramCounts, capacity);
+        }
+        tasksBySlot[slot] = task;
+        trigramCounts[slot] = trigrams.length;
+        for (long trigram : trigrams) {
+            Postings postings = postingsByTrigram.get(trigram);
+            if (postings == null) {
+                postings = new Postings();
+                postingsByTrigram.put(trigram, postings);
+            }
+            postings.add(slot);
+        }
+        slotsByTask.put(task, slot);
+        // Published last, so a search that sees the slot also sees everything written for it
+        slotCount = slot + 1;
+    }
+
+    /**
+     * Removes the task from the index.
+     *
+     * @param task The task to remove.
+     */
+    @Override
+    public void remove(Task task) {
+        Integer slot = slotsByTask.remove(task);
+        if (slot == null) {
+            return;
+        }
+        tasksBySlot[slot] = null;
+        removedCount += 1;
+    }
+
+    /**
+     * Returns whether removed tasks have left more empty slots than live ones,
+     * so that rebuilding the index would pay for itself in faster searches.
+     *
+     * @return True if the index should be rebuilt.
+     */
+    boolean needsRebuild() {
+        return removedCount > MIN_REMOVED_BEFORE_REBUILD && removedCount > slotsByTask.size();
+    }
+
+    /**
+     * Returns the tasks most similar to the query, best first.
+     * A task matches if it shares at least 30% of the query's trigrams.
+     *
+     * @param query The text to search for.
+     * @param limit The maximum number of tasks to return.
+     * @return Up to {@code limit} matching tasks, most similar first.
+     */
+    List<Task> search(String query, int limit) {
+        long[] queryTrigrams = getTrigrams(query.toLowerCase());
+        if (queryTrigrams.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        if (queryTrigrams.length > MAX_QUERY_TRIGRAMS) {
+            queryTrigrams = Arrays.copyOf(queryTrigrams, MAX_QUERY_TRIGRAMS);
+        }
+
+        // Read the slot count first, so that the arrays read after it hold every slot below it
+        int count = slotCount;
+        Task[] tasks = tasksBySlot;
+        int[] taskTrigramCounts = trigramCounts;
+        short[] sharedCounts = new short[count];
+        for (long trigram : queryTrigrams) {
+            Postings postings = postingsByTrigram.get(trigram);
+            if (postings != null) {
+                postings.countInto(sharedCounts);
+            }
+        }
+
+        int minShared = Math.max(1, (int) Math.ceil(queryTrigrams.length * MIN_SIMILARITY));
+        PriorityQueue<Match> best = new PriorityQueue<>(limit, Match.WORST_FIRST);
+        for (int slot = 0; slot < count; slot++) {
+            int shared = sharedCounts[slot];
+            if (shared < minShared || tasks[slot] == null) {
+                continue;
+            }
+            if (best.size() < limit) {
+                best.add(new Match(slot, shared, taskTrigramCounts[slot]));
+            } else if (best.peek().isWorseThan(shared, taskTrigramCounts[slot])) {
+                best.poll();
+                best.add(new Match(slot, shared, taskTrigramCounts[slot]));
+            }
+        }
+
+        ArrayList<Task> results = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            Task task = tasks[best.poll().slot];
+            // A task removed since its slot was checked is left out rather than shown after deletion
+            if (task != null) {
+                results.add(task);
+            }
+        }
+        Collections.reverse(results);
+        return results;
+    }
+
+    /**
+     * Returns the tasks that may have a token containing the given one, in no particular order.
+     * These include every task with such a token, but may also include tasks whose trigrams only match
+     * across several tokens, so callers must check each task.
+     * A token at least a trigram long is looked up by its own trigrams: starting from the one with the fewest tasks,
+     * only the tasks that every other trigram also lists are kept.
+     * A shorter token ends some trigram wherever it appears, thanks to the padding in front,
+     * so the tasks of every trigram ending with it are gathered instead.
+     *
+     * @param token A lowercased run of letters or digits.
+     * @return Tasks that may contain the token.
+     */
+    List<Task> findContaining(String token) {
+        assert !token.isEmpty() : "Token must not be empty";
+        // Read the slot count first, so that the tasks read after it hold every slot below it
+        int count = slotCount;
+        Task[] tasks = tasksBySlot;
+        if (token.length() < TRIGRAM_LENGTH) {
+            return findEndingWith(token, count, tasks);
+        }
+
+        Postings[] tokenPostings = new Postings[token.length() - TRIGRAM_LENGTH + 1];
+        int smallest = 0;
+        for (int i = 0; i < tokenPostings.length; i++) {
+            long trigram = ((long) token.charAt(i) << (2 * CHAR_BITS))
+                    | ((long) token.charAt(i + 1) << CHAR_BITS) | token.charAt(i + 2);
+            tokenPostings[i] = postingsByTrigram.get(trigram);
+            if (tokenPostings[i] == null) {
+                return List.of();
+            }
+            if (tokenPostings[i].size < tokenPostings[smallest].size) {
+                smallest = i;
+            }
+        }
+
+        int[] slots = tokenPostings[smallest].toArray();
+        int slotsLeft = slots.length;
+        for (int i = 0; i < tokenPostings.length && slotsLeft > 0; i++) {
+            if (i != smallest) {
+                slotsLeft = tokenPostings[i].retainListed(slots, slotsLeft);
+            }
+        }
+        ArrayList<Task> candidates = new ArrayList<>(slotsLeft);
+        for (int i = 0; i < slotsLeft; i++) {
+            Task task = slots[i] < count ? tasks[slots[i]] : null;
+            if (task != null) {
+                candidates.add(task);
+            }
+        }
+        return candidates;
+    }
+
+    private List<Task> findEndingWith(String token, int count, Task[] tasks) {
+        long suffix = 0;
+        for (int i = 0; i < token.length(); i++) {
+            suffix = (suffix << CHAR_BITS) | token.charAt(i);
+        }
+        long suffixMask = (1L << (token.length() * CHAR_BITS)) - 1;
+        boolean[] isListed = new boolean[count];
+        for (Map.Entry<Long, Postings> entry : postingsByTrigram.entrySet()) {
+            if ((entry.getKey() & suffixMask) == suffix) {
+                entry.getValue().markInto(isListed);
+            }
+        }
+
+        ArrayList<Task> candidates = new ArrayList<>();
+        for (int slot = 0; slot < count; slot++) {
+            if (isListed[slot] && tasks[slot] != null) {
+                candidates.add(tasks[slot]);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Returns the distinct trigrams of the tokens of the lowercased text, in ascending order.
+     */
+    private static long[] getTrigrams(String text) {
+        ArrayList<String> tokens = KeywordIndex.tokenize(text);
+        int trigramCount = 0;
+        for (String token : tokens) {
+            trigramCount += token.length() + 1;
+        }
+
+        long[] trigrams = new long[trigramCount];
+        int next = 0;
+        for (String token : tokens) {
+            for (int i = 0; i <= token.length(); i++) {
+                trigrams[next] = ((long) getPaddedChar(token, i - 2) << (2 * CHAR_BITS))
+                        | ((long) getPaddedChar(token, i - 1) << CHAR_BITS) | getPaddedChar(token, i);
+                next++;
+            }
+        }
+
+        Arrays.sort(trigrams);
+        int distinctCount = 0;
+        for (int i = 0; i < trigrams.length; i++) {
+            if (i == 0 || trigrams[i] != trigrams[i - 1]) {
+                trigrams[distinctCount] = trigrams[i];
+                distinctCount++;
+            }
+        }
+        return Arrays.copyOf(trigrams, distinctCount);
+    }
+
+    private static char getPaddedChar(String token, int index) {
+        return index < 0 || index >= token.length() ? ' ' : token.charAt(index);
+    }
+
+    /**
+     * The slots of the tasks containing one trigram, in the order they were added.
+     * Slots are appended by one writer while searches read them: a grown array is published before the size,
+     * so a search that reads the size first always finds that many slots in the array it reads next.
+     */
+    private static class Postings {
+        private volatile int[] slots = new int[1];
+        private volatile int size;
+
+        private void add(int slot) {
+            int[] current = slots;
+            int count = size;
+            if (count == current.length) {
+                current = Arrays.copyOf(current, count * 2);
+                current[count] = slot;
+                slots = current;
+            } else {
+                current[count] = slot;
+            }
+            size = count + 1;
+        }
+
+        /**
+         * Returns a copy of the listed slots, in ascending order.
+         */
+        private int[] toArray() {
+            int count = size;
+            return Arrays.copyOf(slots, count);
+        }
+
+        /**
+         * Moves the first {@code count} of the given ascending slots that are also listed here to the front,
+         * and returns how many there are.
+         */
+        private int retainListed(int[] candidates, int count) {
+            int listedCount = size;
+            int[] current = slots;
+            int kept = 0;
+            int next = 0;
+            for (int i = 0; i < count && next < listedCount; i++) {
+                int found = Arrays.binarySearch(current, next, listedCount, candidates[i]);
+                if (found >= 0) {
+                    candidates[kept] = candidates[i];
+                    kept++;
+                    next = found + 1;
+                } else {
+                    next = -found - 1;
+                }
+            }
+            return kept;
+        }
+
+        /**
+         * Marks each listed slot below the length of the marks.
+         */
+        private void markInto(boolean[] isListed) {
+            int count = size;
+            int[] current = slots;
+            for (int i = 0; i < count; i++) {
+                int slot = current[i];
+                if (slot < isListed.length) {
+                    isListed[slot] = true;
+                }
+            }
+        }
+
+        /**
+         * Adds one to the shared count of each listed slot below the length of the counts.
+         * Slots beyond it were added after the search started.
+         */
+        private void countInto(short[] sharedCounts) {
+            int count = size;
+            int[] current = slots;
+            for (int i = 0; i < count; i++) {
+                int slot = current[i];
+                if (slot < sharedCounts.length) {
+                    sharedCounts[slot]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * A task found by a search, with what it is ranked by.
+     */
+    private static class Match {
+        private static final Comparator<Match> WORST_FIRST = Comparator.comparingInt((Match match) -> match.shared)
+                .thenComparing(Comparator.comparingInt((Match match) -> match.trigramCount).reversed())
+                .thenComparing(Comparator.comparingInt((Match match) -> match.slot).reversed());
+
+        private final int slot;
+        private final int shared;
+        private final int trigramCount;
+
+        private Match(int slot, int shared, int trigramCount) {
+            this.slot = slot;
+            this.shared = shared;
+            this.trigramCount = trigramCount;
+        }
+
+        /**
+         * Returns whether this match ranks below a task with the given counts that was added after it.
+         */
+        private boolean isWorseThan(int otherShared, int otherTrigramCount) {
+            if (shared != otherShared) {
+                return shared < otherShared;
+            }
+            return trigramCount > otherTrigramCount;
+        }
+    }
+}
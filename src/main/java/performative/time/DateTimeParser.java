@@ -0,0 +1,308 @@
+package performative.time;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAdjusters;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parses and formats the dates and times of deadlines and events.
+ * Supports the "yyyy-MM-dd HHmm" save format, day-of-week formats (e.g., "Monday", "Mon"),
+ * and day-of-week with time formats (e.g., "Mon 1900").
+ * Save-format strings are parsed by hand, and recently parsed ones are cached.
+ * Day-of-week formats depend on the current time, so they are never cached.
+ */
+public final class DateTimeParser {
+    private static final Map<String, DayOfWeek> DAY_OF_WEEK_MAP = setupDayOfWeekMap();
+    private static final DateTimeFormatter DISPLAY_FORMATTER = DateTimeFormatter.ofPattern("dd MMM yyyy HHmm");
+    private static final DateTimeFormatter DATE_DISPLAY_FORMATTER = DateTimeFormatter.ofPattern("dd MMM yyyy");
+    private static final DateTimeFormatter SAVE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
+    private static final int CACHE_CAPACITY = 128;
+
+    private static final int SAVE_FORMAT_LENGTH = 15;
+    private static final int MONTH_INDEX = 5;
+    private static final int DAY_INDEX = 8;
+    private static final int HOUR_INDEX = 11;
+    private static final int MINUTE_INDEX = 13;
+    private static final int TIME_LENGTH = 4;
+    private static final int MAX_HOUR = 23;
+    private static final int MAX_MINUTE = 59;
+    private static final int MAX_MONTH = 12;
+    private static final int MIN_FOUR_DIGIT_YEAR = 1000;
+    private static final int MAX_FOUR_DIGIT_YEAR = 9999;
+    // Days up to 28 exist in every month; later days are left to the formatter, which resolves them leniently
+    private static final int MAX_ALWAYS_VALID_DAY = 28;
+
+    // Each string has one slot, picked by the low bits of its hash, so lookups never wait on a lock.
+    // The capacity must stay a power of two for the mask to cover every slot.
+    private static final ParsedDateTime[] recentlyParsed = new ParsedDateTime[CACHE_CAPACITY];
+
+    private DateTimeParser() {
+    }
+
+    private static HashMap<String, DayOfWeek> setupDayOfWeekMap() {
+        HashMap<String, DayOfWeek> daysOfWeek = new HashMap<>();
+
+        daysOfWeek.put("monday", DayOfWeek.MONDAY);
+        daysOfWeek.put("tuesday", DayOfWeek.TUESDAY);
+        daysOfWeek.put("wednesday", DayOfWeek.WEDNESDAY);
+        daysOfWeek.put("thursday", DayOfWeek.THURSDAY);
+        daysOfWeek.put("friday", DayOfWeek.FRIDAY);
+        daysOfWeek.put("saturday", DayOfWeek.SATURDAY);
+        daysOfWeek.put("sunday", DayOfWeek.SUNDAY);
+        daysOfWeek.put("mon", DayOfWeek.MONDAY);
+        daysOfWeek.put("tue", DayOfWeek.TUESDAY);
+        daysOfWeek.put("wed", DayOfWeek.WEDNESDAY);
+        daysOfWeek.put("thu", DayOfWeek.THURSDAY);
+        daysOfWeek.put("fri", DayOfWeek.FRIDAY);
+        daysOfWeek.put("sat", DayOfWeek.SATURDAY);
+        daysOfWeek.put("sun", DayOfWeek.SUNDAY);
+
+        return daysOfWeek;
+    }
+
+    /**
+     * Parses a date-time string entered by the user.
+     * A day of week without a time means the next occurrence of that day at the given time of day.
+     *
+     * @param dateTimeString Date-time string in any supported format.
+     * @param dayOnlyTime The time of day to use when only a day of week is given.
+     * @return LocalDateTime object representing the parsed date-time.
+     * @throws DateTimeParseException If the string cannot be parsed.
+     */
+    public static LocalDateTime parse(String dateTimeString, LocalTime dayOnlyTime) throws DateTimeParseException {
+        // Save-format dates start with a digit and never name a day, so skip the day-of-week checks
+        if (!dateTimeString.isEmpty() && Character.isDigit(dateTimeString.charAt(0))) {
+            return parseSaveFormat(dateTimeString);
+        }
+
+        LocalDateTime dayResult = tryParseDayFormat(dateTimeString.trim().toLowerCase(), dayOnlyTime);
+        if (dayResult != null) {
+            return dayResult;
+        }
+
+        return parseSaveFormat(dateTimeString);
+    }
+
+    /**
+     * Parses a date entered by the user: "today", "tomorrow", a "yyyy-MM-dd" date,
+     * or a day of week, which means the next occurrence of that day.
+     *
+     * @param dateString Date string in any supported format.
+     * @return LocalDate object representing the parsed date.
+     * @throws DateTimeParseException If the string cannot be parsed.
+     */
+    public static LocalDate parseDate(String dateString) throws DateTimeParseException {
+        String input = dateString.trim().toLowerCase();
+        LocalDate today = TaskClock.now().toLocalDate();
+        if (input.equals("today")) {
+            return today;
+        }
+        if (input.equals("tomorrow")) {
+            return today.plusDays(1);
+        }
+        DayOfWeek dayOfWeek = DAY_OF_WEEK_MAP.get(input);
+        if (dayOfWeek != null) {
+            return today.with(TemporalAdjusters.next(dayOfWeek));
+        }
+        return LocalDate.parse(input);
+    }
+
+    /**
+     * Parses a date-time string in the "yyyy-MM-dd HHmm" save format.
+     *
+     * @param dateTimeString Date-time string in save format.
+     * @return LocalDateTime object representing the parsed date-time.
+     * @throws DateTimeParseException If the string is not a valid save-format date-time.
+     */
+    public static LocalDateTime parseSaveFormat(String dateTimeString) throws DateTimeParseException {
+        int slot = dateTimeString.hashCode() & (CACHE_CAPACITY - 1);
+        ParsedDateTime cached = recentlyParsed[slot];
+        if (cached != null && cached.text.equals(dateTimeString)) {
+            return cached.dateTime;
+        }
+
+        LocalDateTime dateTime = tryParseSaveFormatFast(dateTimeString);
+        if (dateTime == null) {
+            dateTime = LocalDateTime.parse(dateTimeString, SAVE_FORMATTER);
+        }
+
+        recentlyParsed[slot] = new ParsedDateTime(dateTimeString, dateTime);
+        return dateTime;
+    }
+
+    /**
+     * Parses a save-format string digit by digit.
+     * Returns null if the string is not in the exact shape or has a day that only the formatter can resolve.
+     */
+    private static LocalDateTime tryParseSaveFormatFast(String s) {
+        if (s.length() != SAVE_FORMAT_LENGTH || s.charAt(MONTH_INDEX - 1) != '-' || s.charAt(DAY_INDEX - 1) != '-'
+                || s.charAt(HOUR_INDEX - 1) != ' ') {
+            return null;
+        }
+
+        int year = parseDigits(s, 0, MONTH_INDEX - 1);
+        int month = parseDigits(s, MONTH_INDEX, DAY_INDEX - 1);
+        int day = parseDigits(s, DAY_INDEX, HOUR_INDEX - 1);
+        int hour = parseDigits(s, HOUR_INDEX, MINUTE_INDEX);
+        int minute = parseDigits(s, MINUTE_INDEX, SAVE_FORMAT_LENGTH);
+        boolean isInRange = month >= 1 && month <= MAX_MONTH && day >= 1 && day <= MAX_ALWAYS_VALID_DAY
+                && hour >= 0 && hour <= MAX_HOUR && minute >= 0 && minute <= MAX_MINUTE;
+        if (year < 0 || !isInRange) {
+            return null;
+        }
+        return LocalDateTime.of(year, month, day, hour, minute);
+    }
+
+    /**
+     * Returns the number written in decimal digits between the indexes, or -1 if any character is not a digit.
+     */
+    private static int parseDigits(String s, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Attempts to parse input as a day-of-week format (with or without time).
+     * Handles both "Day Time" (e.g., "mon 1900") and "Day" (e.g., "monday") formats.
+     *
+     * @param input The trimmed and lowercase input string.
+     * @param dayOnlyTime The time of day to use when no time is given.
+     * @return LocalDateTime if parsing succeeds, null if parsing fails.
+     */
+    private static LocalDateTime tryParseDayFormat(String input, LocalTime dayOnlyTime) {
+        int dayEnd = 0;
+        while (dayEnd < input.length() && !Character.isWhitespace(input.charAt(dayEnd))) {
+            dayEnd++;
+        }
+        DayOfWeek dayOfWeek = DAY_OF_WEEK_MAP.get(input.substring(0, dayEnd));
+        if (dayOfWeek == null) {
+            return null;
+        }
+
+        if (dayEnd == input.length()) {
+            return getNextDayOfWeek(dayOfWeek, dayOnlyTime.getHour(), dayOnlyTime.getMinute());
+        }
+
+        int timeStart = dayEnd;
+        while (Character.isWhitespace(input.charAt(timeStart))) {
+            timeStart++;
+        }
+        return tryParseDayWithTime(dayOfWeek, input.substring(timeStart));
+    }
+
+    /**
+     * Attempts to parse a day of week with a time component.
+     *
+     * @param dayOfWeek The day of the week.
+     * @param timeStr The time string to parse (expected format: HHMM).
+     * @return LocalDateTime if parsing succeeds, null if parsing fails.
+     */
+    private static LocalDateTime tryParseDayWithTime(DayOfWeek dayOfWeek, String timeStr) {
+        if (timeStr.length() != TIME_LENGTH) {
+            return null;
+        }
+
+        int hour = parseDigits(timeStr, 0, 2);
+        int minute = parseDigits(timeStr, 2, TIME_LENGTH);
+        if (hour >= 0 && hour <= MAX_HOUR && minute >= 0 && minute <= MAX_MINUTE) {
+            return getNextDayOfWeek(dayOfWeek, hour, minute);
+        }
+        return null;
+    }
+
+    /**
+     * Gets the next occurrence of the specified day of the week at the given time.
+     * If today is the specified day, returns next week's occurrence.
+     *
+     * @param dayOfWeek The target day of the week.
+     * @param hour The hour (0-23).
+     * @param minute The minute (0-59).
+     * @return LocalDateTime representing the next occurrence of the day with specified time.
+     */
+    private static LocalDateTime getNextDayOfWeek(DayOfWeek dayOfWeek, int hour, int minute) {
+        LocalDateTime nextOccurrence = TaskClock.now().with(TemporalAdjusters.next(dayOfWeek));
+        return nextOccurrence.withHour(hour).withMinute(minute).withSecond(0).withNano(0);
+    }
+
+    /**
+     * Formats a date-time into a human-readable string.
+     *
+     * @param dateTime The date-time to format.
+     * @return Formatted date-time string in "dd MMM yyyy HHmm" format.
+     */
+    public static String formatForDisplay(LocalDateTime dateTime) {
+        return dateTime.format(DISPLAY_FORMATTER);
+    }
+
+    /**
+     * Formats a date into a human-readable string.
+     *
+     * @param date The date to format.
+     * @return Formatted date string in "dd MMM yyyy" format.
+     */
+    public static String formatDateForDisplay(LocalDate date) {
+        return date.format(DATE_DISPLAY_FORMATTER);
+    }
+
+    /**
+     * Formats a date-time in the "yyyy-MM-dd HHmm" save format.
+     *
+     * @param dateTime The date-time to format.
+     * @return Formatted date-time string in save format.
+     */
+    public static String formatForSave(LocalDateTime dateTime) {
+        int year = dateTime.getYear();
+        // Only four-digit years have a fixed width; leave the rest to the formatter
+        if (year < MIN_FOUR_DIGIT_YEAR || year > MAX_FOUR_DIGIT_YEAR) {
+            return dateTime.format(SAVE_FORMATTER);
+        }
+
+        char[] chars = new char[SAVE_FORMAT_LENGTH];
+        writeDigits(chars, 0, MONTH_INDEX - 1, year);
+        chars[MONTH_INDEX - 1] = '-';
+        writeDigits(chars, MONTH_INDEX, DAY_INDEX - 1, dateTime.getMonthValue());
+        chars[DAY_INDEX - 1] = '-';
+        writeDigits(chars, DAY_INDEX, HOUR_INDEX - 1, dateTime.getDayOfMonth());
+        chars[HOUR_INDEX - 1] = ' ';
+        writeDigits(chars, HOUR_INDEX, MINUTE_INDEX, dateTime.getHour());
+        writeDigits(chars, MINUTE_INDEX, SAVE_FORMAT_LENGTH, dateTime.getMinute());
+        return new String(chars);
+    }
+
+    /**
+     * Writes the value as zero-padded decimal digits between the indexes.
+     */
+    private static void writeDigits(char[] chars, int start, int end, int value) {
+        for (int i = end - 1; i >= start; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    /**
+     * Pairs a save-format string with its parsed date-time.
+     * Both fields are final, so a slot read without a lock always sees a complete pair.
+     */
+    private static class ParsedDateTime {
+        private final String text;
+        private final LocalDateTime dateTime;
+
+        private ParsedDateTime(String text, LocalDateTime dateTime) {
+            this.text = text;
+            this.dateTime = dateTime;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package performative.time;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+/**
+ * Provides the current date and time to the rest of the application.
+ * All code that needs "now" asks this clock, so that tests can fix the time in one place.
+ */
+public final class TaskClock {
+    private static volatile Clock clock = Clock.systemDefaultZone();
+
+    private TaskClock() {
+    }
+
+    /**
+     * Returns the current date and time according to the clock in use.
+     *
+     * @return The current date and time.
+     */
+    public static LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    public static Clock getClock() {
+        return clock;
+    }
+
+    public static void setClock(Clock newClock) {
+        assert newClock != null : "Clock cannot be null";
+        clock = newClock;
+    }
+}
@@ -1,8 +1,15 @@
 package performative.ui;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.List;
 
+import performative.metrics.LatencyHistogram;
+import performative.metrics.Metrics;
 import performative.tasks.Task;
+import performative.time.DateTimeParser;
 
 /**
  * Handles user interface operations for the Performative application.
@@ -10,9 +17,14 @@ import performative.tasks.Task;
  */
 public class Ui {
 
+    /** Number of tasks shown by plain list commands on large lists, and on each page of list results. */
+    public static final int LIST_PAGE_SIZE = 50;
+
     private static final int DISPLAY_NUMBER_OFFSET = 1;
     private static final int LAST_ITEM_OFFSET = 1;
     private static final int MINIMUM_TASK_NUMBER = 1;
+    private static final int MAX_SUMMARISED_TASKS = 10;
+    private static final LatencyHistogram TASK_LINE_RENDERING = Metrics.getHistogram("ui.taskLines");
 
     /**
      * Constructs a new Ui instance.
@@ -28,7 +40,8 @@ public class Ui {
     public String getUnsupportedCommandMessage() {
         return "Bestie, that command is giving me major confusion vibes. As someone who's been really working on "
                 + "emotional intelligence in therapy, I have to say communication is SO important. "
-                + "Try: todo, deadline, event, list, mark, unmark, delete, find, or bye.";
+                + "Try: todo, deadline, event, list, mark, unmark, delete, find, search, due, upcoming, overdue, "
+                + "during, stats, or bye.";
     }
 
     /**
@@ -50,6 +63,18 @@ public class Ui {
         return response + task + "\n\nWe're now at " + taskCount + " tasks total! Growth mindset activated.";
     }
 
+    /**
+     * Returns a confirmation message when a task is added while the task list is still loading.
+     *
+     * @param task The task that was added.
+     * @return Confirmation message string.
+     */
+    public String getAddPendingTaskMessage(Task task) {
+        return "Just manifested this task into existence: " + task + "\n\n"
+                + "I'm still unpacking the rest of your list (mindfully, at my own pace), "
+                + "so I'll slot it in at the end the moment I'm done. Growth mindset activated.";
+    }
+
     /**
      * Returns a confirmation message when a task is marked as done.
      *
@@ -91,39 +116,218 @@ public class Ui {
                 + "this boundary-setting energy!";
     }
 
+    /**
+     * Returns a confirmation message when a task is deleted by its ID.
+     *
+     * @param task The task that was deleted.
+     * @param taskCount The total number of tasks after deletion.
+     * @return Confirmation message string.
+     */
+    public String getDeleteTaskByIdMessage(Task task, int taskCount) {
+        return "Okay bestie, we're letting this one go! As someone who's been really into mindfulness lately, "
+                + "I believe sometimes we need to Marie Kondo our task lists, you know?\n\n"
+                + "Deleted task #" + task.getId() + ": " + task + "\n\n"
+                + "We're now at " + taskCount + " tasks. This is honestly so healthy - my therapist would be proud of "
+                + "this boundary-setting energy!";
+    }
+
+    /**
+     * Returns a confirmation message when several tasks are marked as done.
+     *
+     * @param tasks The tasks that were marked.
+     * @return Confirmation message string.
+     */
+    public String getMarkTasksMessage(List<Task> tasks) {
+        return "Bestie you did " + tasks.size() + " things?! Honestly, watching someone clear their backlog "
+                + "is so beautiful:\n\n" + summariseTasks(tasks)
+                + "\n\nThis is giving me such 'main character completing their character arc' vibes! "
+                + "Time to celebrate with some oat milk matcha. You deserve it!";
+    }
+
+    /**
+     * Returns a confirmation message when several tasks are marked as not done.
+     *
+     * @param tasks The tasks that were unmarked.
+     * @return Confirmation message string.
+     */
+    public String getUnmarkTasksMessage(List<Task> tasks) {
+        return "Hey hun, " + tasks.size() + " tasks back on the list and honestly? That's totally okay:\n\n"
+                + summariseTasks(tasks) + "\n\nSometimes we need to be gentle with ourselves. "
+                + "Remember: progress over perfection always!";
+    }
+
+    /**
+     * Returns a confirmation message when several tasks are deleted.
+     *
+     * @param tasks The tasks that were deleted.
+     * @param taskCount The total number of tasks after deletion.
+     * @return Confirmation message string.
+     */
+    public String getDeleteTasksMessage(List<Task> tasks, int taskCount) {
+        return "Okay bestie, we're letting " + tasks.size() + " of these go! Marie Kondo would be SO proud:\n\n"
+                + summariseTasks(tasks) + "\n\n"
+                + "We're now at " + taskCount + " tasks. This is honestly so healthy - my therapist would be proud of "
+                + "this boundary-setting energy!";
+    }
+
+    /**
+     * Returns the first few tasks, one per line, followed by how many more there are.
+     */
+    private String summariseTasks(List<Task> tasks) {
+        StringBuilder sb = new StringBuilder();
+        int shownCount = Math.min(tasks.size(), MAX_SUMMARISED_TASKS);
+        for (int i = 0; i < shownCount; i++) {
+            if (i > 0) {
+                sb.append("\n");
+            }
+            sb.append(tasks.get(i)).append(" (#").append(tasks.get(i).getId()).append(")");
+        }
+        if (tasks.size() > shownCount) {
+            sb.append("\n...and ").append(tasks.size() - shownCount).append(" more");
+        }
+        return sb.toString();
+    }
+
     /**
      * Returns all tasks in the provided list with numbering.
      *
-     * @param tasks ArrayList of tasks to be displayed.
+     * @param tasks List of tasks to be displayed.
      * @return Formatted task list string.
      */
-    public String getListTasksMessage(ArrayList<Task> tasks) {
+    public String getListTasksMessage(List<Task> tasks) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeListTasksMessage(tasks, false, sb);
+        } catch (IOException e) {
+            // Appending to a StringBuilder never fails
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes all tasks in the provided list with numbering to the output, one task at a time.
+     *
+     * @param tasks List of tasks to be displayed.
+     * @param isShowingIds Whether to follow each task with its persistent ID.
+     * @param out The output to write to.
+     * @throws IOException If the output cannot be written to.
+     */
+    public void writeListTasksMessage(List<Task> tasks, boolean isShowingIds, Appendable out) throws IOException {
         if (tasks == null || tasks.isEmpty()) {
-            return "Bestie, your task list is giving me 'blank canvas' energy! "
-                    + "Honestly, this is kind of beautiful in a minimalist way? "
-                    + "Very much giving 'Marie Kondo approved' vibes!\n\n"
-                    + "Maybe start with something soft and gentle? "
-                    + "Remember, productivity culture is toxic and you're perfect as you are!";
+            out.append(getEmptyListMessage());
+            return;
+        }
+
+        out.append(getListHeader());
+        writeTaskLines(tasks, MINIMUM_TASK_NUMBER, isShowingIds, out);
+        out.append("\n\nThis list is honestly so aesthetically pleasing! "
+                + "Very much giving 'Pinterest board come to life' vibes.");
+    }
+
+    /**
+     * Returns one page of the task list with numbering, and how to see the tasks after it.
+     *
+     * @param page List of the tasks on the page.
+     * @param firstTaskNumber The task number of the first task on the page.
+     * @param taskCount The total number of tasks in the task list.
+     * @return Formatted task list page string.
+     */
+    public String getListTaskPageMessage(List<Task> page, int firstTaskNumber, int taskCount) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeListTaskPageMessage(page, firstTaskNumber, taskCount, false, sb);
+        } catch (IOException e) {
+            // Appending to a StringBuilder never fails
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes one page of the task list with numbering to the output, one task at a time,
+     * followed by how to see the tasks after it.
+     *
+     * @param page List of the tasks on the page.
+     * @param firstTaskNumber The task number of the first task on the page.
+     * @param taskCount The total number of tasks in the task list.
+     * @param isShowingIds Whether to follow each task with its persistent ID.
+     * @param out The output to write to.
+     * @throws IOException If the output cannot be written to.
+     */
+    public void writeListTaskPageMessage(List<Task> page, int firstTaskNumber, int taskCount, boolean isShowingIds,
+            Appendable out) throws IOException {
+        if (page == null || page.isEmpty()) {
+            out.append(getEmptyListMessage());
+            return;
         }
 
-        StringBuilder sb = new StringBuilder(
-                "Okay here's your task list, and honestly? It's giving me such organized queen energy!\n\n");
-        sb.append("(Currently listening to some Clairo while reviewing these - "
-                + "her music just hits different, you know?)\n\n");
+        out.append(getListHeader());
+        writeTaskLines(page, firstTaskNumber, isShowingIds, out);
+
+        int lastTaskNumber = firstTaskNumber + page.size() - LAST_ITEM_OFFSET;
+        out.append("\n\nShowing tasks ").append(String.valueOf(firstTaskNumber)).append("-")
+                .append(String.valueOf(lastTaskNumber)).append(" of ").append(String.valueOf(taskCount))
+                .append(". ");
+        if (lastTaskNumber < taskCount) {
+            out.append("Pacing ourselves is self-care, so type 'list --from ")
+                    .append(String.valueOf(lastTaskNumber + 1)).append(" --limit ")
+                    .append(String.valueOf(page.size())).append("' or 'list <page>' for more!");
+        } else {
+            out.append("That's everything, bestie. Very much giving 'Pinterest board come to life' vibes.");
+        }
+    }
 
+    /**
+     * Writes the numbered tasks to the output one line at a time, without building the whole list first.
+     * Lines are separated, not terminated, by newlines.
+     * Persistent IDs are only shown when asked for, such as by "list --ids", so plain lines are unchanged.
+     *
+     * @param tasks List of tasks to be written.
+     * @param firstTaskNumber The task number of the first task in the list.
+     * @param isShowingIds Whether to follow each task with its persistent ID, as in "1. [T][ ] read (#7)".
+     * @param out The output to write to.
+     * @throws IOException If the output cannot be written to.
+     */
+    public void writeTaskLines(List<Task> tasks, int firstTaskNumber, boolean isShowingIds, Appendable out)
+            throws IOException {
+        long start = System.nanoTime();
         for (int i = 0; i < tasks.size(); i++) {
             Task task = tasks.get(i);
             if (task != null) {
-                sb.append((i + DISPLAY_NUMBER_OFFSET)).append(". ").append(task);
+                out.append(String.valueOf(firstTaskNumber + i)).append(". ").append(task.toString());
+                if (isShowingIds) {
+                    out.append(" (#").append(String.valueOf(task.getId())).append(")");
+                }
                 if (i < tasks.size() - LAST_ITEM_OFFSET) {
-                    sb.append("\n");
+                    out.append("\n");
                 }
             }
         }
+        TASK_LINE_RENDERING.recordSince(start);
+    }
 
-        sb.append("\n\nThis list is honestly so aesthetically pleasing! "
-                + "Very much giving 'Pinterest board come to life' vibes.");
-        return sb.toString();
+    private void appendTaskLines(List<Task> tasks, int firstTaskNumber, StringBuilder sb) {
+        try {
+            writeTaskLines(tasks, firstTaskNumber, false, sb);
+        } catch (IOException e) {
+            // Appending to a StringBuilder never fails
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String getListHeader() {
+        return "Okay here's your task list, and honestly? It's giving me such organized queen energy!\n\n"
+                + "(Currently listening to some Clairo while reviewing these - "
+                + "her music just hits different, you know?)\n\n";
+    }
+
+    private String getEmptyListMessage() {
+        return "Bestie, your task list is giving me 'blank canvas' energy! "
+                + "Honestly, this is kind of beautiful in a minimalist way? "
+                + "Very much giving 'Marie Kondo approved' vibes!\n\n"
+                + "Maybe start with something soft and gentle? "
+                + "Remember, productivity culture is toxic and you're perfect as you are!";
     }
 
     /**
@@ -160,6 +364,133 @@ public class Ui {
         }
     }
 
+    /**
+     * Returns the results of a fuzzy search, most similar first.
+     *
+     * @param matchingTasks The best matching tasks, most similar first.
+     * @param query The text that was searched for.
+     * @return Search results message string.
+     */
+    public String getRankedSearchResultsMessage(List<Task> matchingTasks, String query) {
+        if (matchingTasks.isEmpty()) {
+            return "Hun, nothing even came close to '" + query + "', and trust me, I looked with an open heart.\n\n"
+                    + "Maybe try fewer words, or different ones? Sometimes letting go is the real search.";
+        }
+
+        StringBuilder sb = new StringBuilder("Okay bestie, here's what vibes most with '" + query
+                + "', best match first. Typos welcome, this is a judgement-free zone:\n\n");
+        for (int i = 0; i < matchingTasks.size(); i++) {
+            sb.append(i + DISPLAY_NUMBER_OFFSET).append(". ").append(matchingTasks.get(i)).append('\n');
+        }
+        sb.append("\nNeed the exact matches, in list order? That's what find is for, hun.");
+        return sb.toString();
+    }
+
+    /**
+     * Returns the deadlines due and events happening on the given date.
+     *
+     * @param tasks Deadlines and events on the date, in time order.
+     * @param date The date that was asked about.
+     * @return Schedule message string.
+     */
+    public String getDueTasksMessage(List<Task> tasks, LocalDate date) {
+        return getScheduleMessage(tasks, "on " + DateTimeParser.formatDateForDisplay(date));
+    }
+
+    /**
+     * Returns the unfinished deadlines and events coming up in the next few days.
+     *
+     * @param tasks Unfinished deadlines and events in the coming days, in time order.
+     * @param days The number of days that were looked ahead.
+     * @return Schedule message string.
+     */
+    public String getUpcomingTasksMessage(List<Task> tasks, int days) {
+        return getScheduleMessage(tasks, "coming up in the next " + days + " day" + (days == 1 ? "" : "s"));
+    }
+
+    /**
+     * Returns the unfinished deadlines that are already past due.
+     *
+     * @param tasks Overdue deadlines, in time order.
+     * @return Overdue tasks message string.
+     */
+    public String getOverdueTasksMessage(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return "Nothing overdue, bestie! You're honestly so on top of things, "
+                    + "it's giving 'journals every morning with a matcha latte' energy.";
+        }
+        StringBuilder sb = new StringBuilder("Okay hun, no judgement, but these are past due. "
+                + "Deadlines are a social construct anyway:\n\n");
+        appendTaskLines(tasks, MINIMUM_TASK_NUMBER, sb);
+        sb.append("\n\nMaybe pick the softest one and start there? Rest is productive too.");
+        return sb.toString();
+    }
+
+    /**
+     * Returns the deadlines due and events happening from one date to another.
+     *
+     * @param tasks Deadlines and events in the date range, in time order.
+     * @param from The first date of the range.
+     * @param to The last date of the range.
+     * @return Schedule message string.
+     */
+    public String getTasksDuringMessage(List<Task> tasks, LocalDate from, LocalDate to) {
+        return getScheduleMessage(tasks, "from " + DateTimeParser.formatDateForDisplay(from) + " to "
+                + DateTimeParser.formatDateForDisplay(to));
+    }
+
+    private String getScheduleMessage(List<Task> tasks, String period) {
+        if (tasks.isEmpty()) {
+            return "Nothing " + period + ", bestie! Your calendar is totally clear, "
+                    + "and that's giving 'protected my peace' energy.";
+        }
+        StringBuilder sb = new StringBuilder("Here's everything " + period + ". "
+                + "I colour-coded this in my head, obviously:\n\n");
+        appendTaskLines(tasks, MINIMUM_TASK_NUMBER, sb);
+        sb.append("\n\nPacing yourself is self-care, hun. Don't forget to hydrate!");
+        return sb.toString();
+    }
+
+    /**
+     * Returns a reminder that a deadline is nearly due or an event is about to start.
+     *
+     * @param task The deadline or event to remind about.
+     * @return Reminder message string.
+     */
+    public String getReminderMessage(Task task) {
+        return "Gentle reminder, bestie! No pressure, but this one is coming up soon:\n"
+                + task + "\n\n"
+                + "I'll be here with a matcha latte when you're done. You've got this!";
+    }
+
+    /**
+     * Returns the metrics report, with how to read it.
+     *
+     * @param report The report, with one histogram or counter per line.
+     * @return Stats message string.
+     */
+    public String getStatsMessage(String report) {
+        if (report.isEmpty()) {
+            return "No stats yet, bestie! I'm still in my 'quietly observing' era.";
+        }
+        return "Okay, stats time! I'm not obsessed with numbers, I just think data is kind of a love language. "
+                + "Times are in milliseconds, n is how many times it ran:\n\n"
+                + report;
+    }
+
+    /**
+     * Returns an error message for invalid due, upcoming and during commands.
+     *
+     * @return Error message string.
+     */
+    public String getInvalidScheduleCommandMessage() {
+        return "Hun, I can't find that on the calendar! Time is honestly a construct, "
+                + "but I still need dates I can read.\n\n"
+                + "Try: due <date>, upcoming <days>, overdue, or during <from_date> <to_date>\n"
+                + "Dates can be today, tomorrow, a day like Mon, or YYYY-MM-DD\n"
+                + "Example: due tomorrow or during 2025-10-20 2025-10-26";
+    }
+
     /**
      * Returns an error message for invalid task numbers.
      *
@@ -181,6 +512,62 @@ public class Ui {
                 + "Try again bestie - you've got this!";
     }
 
+    /**
+     * Returns an error message for task IDs that do not match any task.
+     *
+     * @param id The task ID that was given.
+     * @return Error message string.
+     */
+    public String getInvalidTaskIdMessage(int id) {
+        return "Hun, there's no task with ID #" + id + " and honestly? That's giving me 'ghosted' energy. "
+                + "Maybe it was already deleted? Check your list for the IDs next to each task, bestie!";
+    }
+
+    /**
+     * Returns a warning that a change could not be written to the save file.
+     *
+     * @param reason Description of the write failure.
+     * @return Warning message string.
+     */
+    public String getStorageErrorMessage(String reason) {
+        return "Okay, real talk bestie: I couldn't save your latest changes to the save file (" + reason + "). "
+                + "I'm holding space for them in memory, but they might not survive a restart. "
+                + "Maybe check your disk? Vulnerability is strength, and so are backups.";
+    }
+
+    /**
+     * Returns an error that the saved tasks could not be loaded, so commands that use them cannot run.
+     *
+     * @param reason Description of the load failure.
+     * @return Error message string.
+     */
+    public String getLoadFailedMessage(String reason) {
+        return "Okay, deep breaths bestie: I couldn't load your saved tasks (" + reason + "), "
+                + "so I can't touch your list right now. I haven't changed the save file, "
+                + "and anything added while I was loading wasn't saved either. "
+                + "Maybe check the file and restart me? Boundaries protect what matters.";
+    }
+
+    /**
+     * Returns a warning that some records in the save file could not be loaded or failed their checksums.
+     *
+     * @param problemCount The number of problems found.
+     * @param descriptions Descriptions of the first few problems.
+     * @return Warning message string.
+     */
+    public String getLoadProblemsMessage(int problemCount, List<String> descriptions) {
+        StringBuilder sb = new StringBuilder("Okay bestie, gentle heads up: your save file didn't fully pass "
+                + "the vibe check when I loaded it. I loaded everything I could, but:\n");
+        for (String description : descriptions) {
+            sb.append("- ").append(description).append('\n');
+        }
+        if (problemCount > descriptions.size()) {
+            sb.append("- and ").append(problemCount - descriptions.size()).append(" more\n");
+        }
+        sb.append("\nMaybe give your list a once-over? Healing isn't linear, and neither is file recovery.");
+        return sb.toString();
+    }
+
     /**
      * Returns an error message for invalid number format.
      *
@@ -202,7 +589,7 @@ public class Ui {
         return "Hun, this mark command is giving me 'incomplete thought' energy! "
                 + "As an emotionally intelligent person who's been working on clear communication, "
                 + "I need the full vibe check here.\n\n"
-                + "Try: mark <task_number>\nExample: mark 1\n\n"
+                + "Try: mark <task_number>, mark #<task_id>, or mark <task_numbers>\nExample: mark 1 or mark 1-5,8\n\n"
                 + "It's giving very much 'I started a sentence but got distracted by my matcha latte' vibes!";
     }
 
@@ -215,11 +602,37 @@ public class Ui {
         return "Bestie, this delete command is NOT giving what it's supposed to give! "
                 + "As someone who believes in clear boundaries, "
                 + "I need you to be more specific.\n\n"
-                + "Try: delete <task_number>\nExample: delete 1\n\n"
+                + "Try: delete <task_number>, delete #<task_id>, or delete <task_numbers>\n"
+                + "Example: delete 1 or delete 3,7,9-20\n\n"
                 + "This is honestly giving me 'trying to Marie Kondo but "
                 + "forgetting which item we're letting go of' energy!";
     }
 
+    /**
+     * Returns an error message for invalid list commands.
+     *
+     * @return Error message string.
+     */
+    public String getInvalidListCommandMessage() {
+        return "Hun, I love that you want to see your tasks, but this list command is giving me mixed signals! "
+                + "Clear communication is a love language, you know?\n\n"
+                + "Try: list, list <page>, or list --from <task_number> --limit <count>, "
+                + "adding --ids to see task IDs\n"
+                + "Example: list 2 or list --from 101 --limit 20 --ids";
+    }
+
+    /**
+     * Returns an error message for list pages past the end of the task list.
+     *
+     * @param pageCount The number of pages in the task list.
+     * @return Error message string.
+     */
+    public String getInvalidListPageMessage(int pageCount) {
+        return "Bestie, your list only has " + pageCount + " page" + (pageCount == 1 ? "" : "s")
+                + " right now, so that page is giving 'unwritten chapter of my memoir' energy. "
+                + "Pick a page between " + MINIMUM_TASK_NUMBER + " and " + pageCount + "!";
+    }
+
     /**
      * Returns an error message for empty find keywords.
      *
@@ -232,6 +645,17 @@ public class Ui {
                 + "As someone who's really into intentional living lately, I believe every search should have purpose!";
     }
 
+    /**
+     * Returns an error message for empty search queries.
+     *
+     * @return Error message string.
+     */
+    public String getEmptySearchQueryMessage() {
+        return "Bestie, you said search but didn't tell me what for! "
+                + "That's giving 'opened the fridge and just stared into it' energy.\n\n"
+                + "Try: search <words>\nExample: search chaptr (typos are totally valid, I don't judge)";
+    }
+
     /**
      * Returns a goodbye message.
      *
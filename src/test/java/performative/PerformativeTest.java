@@ -0,0 +1,33 @@
+package performative;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class PerformativeTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testCommandsReplyWithLoadFailure() throws IOException {
+        // test: when the save file cannot be loaded, commands reply with the failure and the file is left alone
+        Path savePath = tempDir.resolve("savefile.bin");
+        Files.writeString(savePath, "not a binary save file");
+
+        try (Performative performative = new Performative(savePath.toString())) {
+            performative.getWelcomeMessage();
+            assertTrue(performative.getResponse("list").contains("couldn't load your saved tasks"),
+                    "List should report the failure");
+            assertTrue(performative.getResponse("todo read book").contains("couldn't load your saved tasks"),
+                    "Adding a task should report the failure once loading has failed");
+            assertTrue(performative.getResponse("stats").length() > 0, "Commands without tasks should still run");
+        }
+        assertEquals("not a binary save file", Files.readString(savePath), "The save file should be unchanged");
+    }
+}
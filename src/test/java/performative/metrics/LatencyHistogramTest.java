@@ -0,0 +1,38 @@
+package performative.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBucketsCoverEveryValue() {
+        // test: every value falls in a bucket whose top is at or above it and within the bucket precision
+        long[] values = {0, 1, 15, 16, 17, 31, 32, 1_000, 123_456_789, Long.MAX_VALUE / 4};
+        for (long value : values) {
+            long top = LatencyHistogram.getBucketTop(LatencyHistogram.getBucketIndex(value));
+            assertTrue(top >= value, "Bucket top should not be below " + value);
+            assertTrue(top - value <= value / 16, "Bucket for " + value + " should be within 1/16 of it");
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        // test: percentiles are reported to within the bucket precision, and never above the maximum
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 1_000; i++) {
+            histogram.record(i * 1_000);
+        }
+
+        assertEquals(1_000, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMax());
+        assertEquals(500_500, histogram.getMean(), 0.001);
+        long median = histogram.getPercentile(50);
+        assertTrue(median >= 500_000 && median <= 500_000 * 17 / 16, "Median should be close to 500 us");
+        long p99 = histogram.getPercentile(99);
+        assertTrue(p99 >= 990_000 && p99 <= 1_000_000, "p99 should be close to 990 us and capped at the max");
+        assertEquals(0, new LatencyHistogram().getPercentile(99), "Empty histogram should report zero");
+    }
+}
@@ -0,0 +1,83 @@
+package performative.reminder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import performative.tasks.Deadline;
+import performative.tasks.Event;
+import performative.tasks.Task;
+import performative.tasks.TaskList;
+import performative.tasks.Todo;
+import performative.time.TaskClock;
+import performative.ui.Ui;
+
+public class ReminderSchedulerTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 12, 10, 0);
+
+    private Clock originalClock;
+    private BlockingQueue<String> reminders;
+    private ReminderScheduler scheduler;
+    private TaskList taskList;
+
+    @BeforeEach
+    public void setUp() {
+        originalClock = TaskClock.getClock();
+        TaskClock.setClock(Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+        reminders = new LinkedBlockingQueue<>();
+        scheduler = new ReminderScheduler(reminders::add, new Ui(), Duration.ofMinutes(30));
+        taskList = new TaskList();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.stop();
+        TaskClock.setClock(originalClock);
+    }
+
+    @Test
+    public void testRemindsWithinLeadTime() throws InterruptedException {
+        // test: a deadline inside the lead time is reminded about straight away, and only once
+        taskList.addTask(new Deadline("essay", NOW.plusMinutes(10)));
+        scheduler.watch(taskList);
+
+        String reminder = reminders.poll(5, TimeUnit.SECONDS);
+        assertNotNull(reminder, "Deadline inside the lead time should be reminded about");
+        assertTrue(reminder.contains("essay"), "Reminder should name the task");
+        assertEquals(0, scheduler.getPendingReminderCount(), "Fired reminders should leave the queue");
+    }
+
+    @Test
+    public void testQueueFollowsTaskListChanges() {
+        // test: adding, marking and deleting tasks keep the queue in step without rescanning the list
+        scheduler.watch(taskList);
+        Task deadline = new Deadline("essay", NOW.plusDays(2));
+        Task event = new Event("brunch", NOW.plusDays(3), NOW.plusDays(3).plusHours(2));
+        taskList.addTask(deadline);
+        taskList.addTask(event);
+        taskList.addTask(new Todo("matcha"));
+        taskList.addTask(new Deadline("past", NOW.minusDays(1)));
+        assertEquals(2, scheduler.getPendingReminderCount(), "Only future deadlines and events should be queued");
+
+        taskList.setDone(deadline, true);
+        assertEquals(1, scheduler.getPendingReminderCount(), "Finished tasks should not be reminded about");
+        taskList.setDone(deadline, false);
+        assertEquals(2, scheduler.getPendingReminderCount(), "Unfinished tasks should be queued again");
+
+        taskList.deleteTask(2);
+        assertEquals(1, scheduler.getPendingReminderCount(), "Deleted tasks should leave the queue");
+        assertTrue(reminders.isEmpty(), "Nothing should be due yet");
+    }
+}
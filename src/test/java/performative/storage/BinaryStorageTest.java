@@ -0,0 +1,104 @@
+package performative.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import performative.tasks.Deadline;
+import performative.tasks.Task;
+import performative.tasks.Todo;
+
+public class BinaryStorageTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testChangesPersistAcrossLoads() throws IOException {
+        // test: appended, marked and deleted tasks are reflected when the file is mapped again
+        String filePath = tempDir.resolve("savefile.bin").toString();
+        BinaryStorage storage = new BinaryStorage(filePath);
+        storage.initializeFile();
+
+        Task first = new Todo("read book");
+        first.setId(1);
+        Task second = new Deadline("return book", "2025-03-14 2359");
+        second.setId(2);
+        storage.saveTask(first);
+        storage.saveTask(second);
+        storage.saveMark(0, second);
+        storage.saveDelete(0, first);
+
+        List<Task> loadedTasks = new BinaryStorage(filePath).loadTasks();
+        assertEquals(1, loadedTasks.size(), "Deleted task should not be loaded");
+        assertEquals(second.toSaveFormat().replace("Incomplete", "Complete"), loadedTasks.get(0).toSaveFormat(),
+                "Deadline should round-trip with its mark applied");
+    }
+
+    @Test
+    public void testTextImportAndExport() throws IOException {
+        // test: tasks survive a conversion from text to binary and back
+        String textPath = tempDir.resolve("savefile.txt").toString();
+        String binaryPath = tempDir.resolve("savefile.bin").toString();
+        Storage textStorage = new Storage(textPath, Durability.STRICT);
+        textStorage.initializeFile();
+        Task task = new Todo("exercise");
+        task.setId(1);
+        task.markDone();
+        textStorage.saveTask(task);
+
+        BinaryStorage.importText(textPath, binaryPath);
+        String exportPath = tempDir.resolve("export.txt").toString();
+        BinaryStorage.exportText(binaryPath, exportPath);
+
+        List<Task> exportedTasks = new Storage(exportPath).loadTasks();
+        assertEquals(1, exportedTasks.size(), "Exported file should contain the imported task");
+        assertTrue(exportedTasks.get(0).isDone(), "Task status should survive the conversion");
+    }
+
+    @Test
+    public void testChangesDuringCompactionPersist() throws IOException {
+        // test: changes written while a background compaction runs survive it, and close waits for it
+        String filePath = tempDir.resolve("savefile.bin").toString();
+        BinaryStorage storage = new BinaryStorage(filePath);
+        storage.initializeFile();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= 1100; i++) {
+            Task task = new Todo("task " + i);
+            task.setId(i);
+            storage.saveTask(task);
+            tasks.add(task);
+        }
+        List<Task> deleted = new ArrayList<>(tasks.subList(0, 1000));
+        tasks.removeAll(deleted);
+        storage.saveDeletes(new int[0], deleted);
+
+        storage.compactIfNeeded(() -> List.copyOf(tasks));
+        Task added = new Todo("added during compaction");
+        added.setId(1101);
+        storage.saveTask(added);
+        Task marked = tasks.get(0);
+        marked.markDone();
+        storage.saveMark(0, marked);
+        storage.saveDelete(1, tasks.get(1));
+        storage.close();
+
+        List<Task> loadedTasks = new BinaryStorage(filePath).loadTasks();
+        assertEquals(100, loadedTasks.size(), "Deletions on both sides of the compaction should apply");
+        assertTrue(loadedTasks.get(0).isDone(), "A mark written during the compaction should survive it");
+        assertEquals("task 1003", loadedTasks.get(1).getDescription(), "A deleted task should not be loaded");
+        assertEquals("added during compaction", loadedTasks.get(99).getDescription(),
+                "A task added during the compaction should survive it");
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertTrue(files.noneMatch(file -> file.toString().endsWith(".tmp")), "No temporary file should be left");
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package performative.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import performative.metrics.Metrics;
+import performative.tasks.Deadline;
+import performative.tasks.Event;
+import performative.tasks.Task;
+import performative.tasks.Todo;
+
+public class StorageTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testJournalReplayedOnLoad() throws IOException {
+        // test: changes appended to the journal are applied on top of the snapshot
+        String filePath = tempDir.resolve("savefile.txt").toString();
+        Storage storage = new Storage(filePath, Durability.STRICT);
+        storage.initializeFile();
+
+        Task first = new Todo("buy groceries");
+        Task second = new Todo("read book");
+        storage.saveTask(first);
+        storage.saveTask(second);
+        second.markDone();
+        storage.saveMark(2, second);
+        storage.saveDelete(1, first);
+
+        ArrayList<Task> loadedTasks = new Storage(filePath).loadTasks();
+        assertEquals(1, loadedTasks.size(), "Deleted task should not be loaded");
+        assertEquals("read book", loadedTasks.get(0).getDescription(), "Remaining task should be loaded");
+        assertTrue(loadedTasks.get(0).isDone(), "Mark should be replayed from the journal");
+    }
+
+    @Test
+    public void testCloseWritesQueuedChanges() throws IOException {
+        // test: closing a write-behind storage writes the changes still queued before its writer stops
+        String filePath = tempDir.resolve("savefile.txt").toString();
+        Storage storage = new Storage(filePath, Durability.WRITE_BEHIND, 60_000, 1000);
+        storage.initializeFile();
+
+        storage.saveTask(new Todo("buy groceries"));
+        storage.close();
+
+        ArrayList<Task> loadedTasks = new Storage(filePath).loadTasks();
+        assertEquals(1, loadedTasks.size(), "Queued task should be written when the storage is closed");
+    }
+
+    @Test
+    public void testWriteBehindFailureCountedWhenItHappens() throws IOException {
+        // test: a failed write-behind record is counted as a storage error even though nobody takes the failure
+        Path savePath = tempDir.resolve("savefile.txt");
+        Files.createDirectory(tempDir.resolve("savefile.txt.log"));
+        Storage storage = new Storage(savePath.toString(), Durability.WRITE_BEHIND, 20, 1);
+        storage.initializeFile();
+        long errorCount = Metrics.getCount(MeteredTaskStorage.ERROR_COUNTER);
+
+        storage.saveTask(new Todo("buy groceries"));
+
+        assertThrows(IOException.class, storage::close, "Closing should report the failed record");
+        assertEquals(errorCount + 1, Metrics.getCount(MeteredTaskStorage.ERROR_COUNTER),
+                "The failed record should be counted once");
+    }
+
+    @Test
+    public void testBulkChangesReplayedOnLoad() throws IOException {
+        // test: bulk marks and deletes written as one journal entry are replayed onto the right tasks
+        String filePath = tempDir.resolve("savefile.txt").toString();
+        Storage storage = new Storage(filePath, Durability.STRICT);
+        storage.initializeFile();
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            Task task = new Todo("task " + i);
+            task.setId(i);
+            tasks.add(task);
+            storage.saveTask(task);
+        }
+        tasks.get(0).markDone();
+        tasks.get(4).markDone();
+        storage.saveMarks(new int[] {1, 5}, List.of(tasks.get(0), tasks.get(4)), true);
+        storage.saveDeletes(new int[] {2, 4}, List.of(tasks.get(1), tasks.get(3)));
+
+        ArrayList<Task> loadedTasks = new Storage(filePath).loadTasks();
+        assertEquals(3, loadedTasks.size(), "Deleted tasks should not be loaded");
+        assertEquals("task 3", loadedTasks.get(1).getDescription(), "Only the deleted tasks should be removed");
+        assertTrue(loadedTasks.get(0).isDone() && loadedTasks.get(2).isDone(), "Marks should be replayed");
+        assertFalse(loadedTasks.get(1).isDone(), "Unmarked task should stay undone");
+    }
+
+    @Test
+    public void testSaveTasksDiscardsJournal() throws IOException {
+        // test: a full snapshot supersedes earlier journal records
+        String filePath = tempDir.resolve("savefile.txt").toString();
+        Storage storage = new Storage(filePath, Durability.STRICT);
+        storage.initializeFile();
+
+        Task task = new Todo("exercise");
+        storage.saveTask(task);
+        storage.saveTask(new Todo("stretch"));
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(task);
+        storage.saveTasks(tasks);
+
+        ArrayList<Task> loadedTasks = new Storage(filePath).loadTasks();
+        assertEquals(1, loadedTasks.size(), "Only the snapshot tasks should be loaded");
+        assertFalse(loadedTasks.get(0).isDone(), "Task status should be preserved");
+    }
+
+    @Test
+    public void testSaveTasksWaitsForCompaction() throws IOException {
+        // test: a full save made while a compaction is running is not replaced by the compaction's older snapshot
+        Path savePath = tempDir.resolve("savefile.txt");
+        Storage storage = new Storage(savePath.toString(), Durability.STRICT);
+        storage.initializeFile();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= 1000; i++) {
+            Task task = new Todo("task " + i);
+            storage.saveTask(task);
+            tasks.add(task);
+        }
+        storage.compactIfNeeded(() -> List.copyOf(tasks));
+        storage.saveTasks(List.of(new Todo("only task")));
+
+        ArrayList<Task> loadedTasks = new Storage(savePath.toString()).loadTasks();
+        assertEquals(1, loadedTasks.size(), "The later full save should win over the compaction");
+        assertEquals("only task", loadedTasks.get(0).getDescription(), "The saved task should be loaded");
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertFalse(files.anyMatch(file -> file.toString().endsWith(".tmp")), "No temporary file should be left");
+        }
+    }
+
+    @Test
+    public void testParallelLoadMatchesSequentialLoad() throws IOException {
+        // test: a snapshot split into chunks loads the same tasks, in the same order, as a sequential load
+        String filePath = tempDir.resolve("savefile.txt").toString();
+        Storage storage = new Storage(filePath, Durability.STRICT);
+        storage.initializeFile();
+
+        LocalDateTime start = LocalDateTime.of(2025, 3, 14, 9, 0);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= 6000; i++) {
+            Task task = i % 3 == 0 ? new Todo("read chapter " + i)
+                    : i % 3 == 1 ? new Deadline("submit report " + i, start.plusHours(i))
+                    : new Event("team sync " + i, start.plusHours(i), start.plusHours(i + 1));
+            task.setId(i);
+            if (i % 2 == 0) {
+                task.markDone();
+            }
+            tasks.add(task);
+        }
+        storage.saveTasks(tasks);
+        storage.saveTask(new Todo("added after the snapshot"));
+
+        ArrayList<Task> sequential = new Storage(filePath).loadTasks(false);
+        ArrayList<Task> parallel = new Storage(filePath).loadTasks(true);
+        assertEquals(6001, parallel.size(), "Every task and the journalled add should be loaded");
+        for (int i = 0; i < sequential.size(); i++) {
+            assertEquals(sequential.get(i).toSaveFormat(), parallel.get(i).toSaveFormat(),
+                    "Task " + (i + 1) + " should match the sequential load");
+        }
+    }
+
+    @Test
+    public void testChangedAndUnreadableRecordsReported() throws IOException {
+        // test: a record changed after saving fails its block checksum, and an unreadable record is reported
+        Path savePath = tempDir.resolve("savefile.txt");
+        Storage storage = new Storage(savePath.toString(), Durability.STRICT);
+        storage.initializeFile();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= 3000; i++) {
+            Task task = new Todo("task " + i);
+            task.setId(i);
+            tasks.add(task);
+        }
+        storage.saveTasks(tasks);
+
+        List<String> lines = new ArrayList<>(Files.readAllLines(savePath));
+        assertEquals("Todo; Incomplete; task 1500; 1500", lines.get(1501), "Line 1502 should hold task 1500");
+        lines.set(1501, "Todo; Complete; task 1500; 1500");
+        lines.set(2500, "not a task");
+        Files.write(savePath, lines);
+
+        Storage reloaded = new Storage(savePath.toString());
+        ArrayList<Task> loadedTasks = reloaded.loadTasks();
+        LoadReport report = reloaded.takeLoadReport();
+        assertEquals(2999, loadedTasks.size(), "Every readable task should still be loaded");
+        assertTrue(loadedTasks.get(1499).isDone(), "Changed task should be loaded as it is in the file");
+        assertEquals(3, report.getProblemCount(), "Both changed blocks and the unreadable line should be reported");
+        assertEquals(List.of(
+                "lines 1026 to 2049 of savefile.txt do not match their checksum and may have been changed",
+                "lines 2051 to 3003 of savefile.txt do not match their checksum and may have been changed",
+                "line 2501 of savefile.txt could not be read and was skipped"), report.getDescriptions());
+    }
+
+    @Test
+    public void testRemovedBlockReported() throws IOException {
+        // test: a whole block removed along with its checksum still fails the footer checksum
+        Path savePath = tempDir.resolve("savefile.txt");
+        Storage storage = new Storage(savePath.toString(), Durability.STRICT);
+        storage.initializeFile();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= 3000; i++) {
+            tasks.add(new Todo("task " + i));
+        }
+        storage.saveTasks(tasks);
+
+        List<String> lines = new ArrayList<>(Files.readAllLines(savePath));
+        assertTrue(lines.get(2049).startsWith("Checksum; "), "Line 2050 should end the second block");
+        lines.subList(1025, 2050).clear();
+        Files.write(savePath, lines);
+
+        Storage reloaded = new Storage(savePath.toString());
+        assertEquals(1976, reloaded.loadTasks().size(), "Tasks outside the removed block should be loaded");
+        assertEquals(List.of(
+                "savefile.txt does not match its footer checksum, so whole blocks of tasks may be missing"),
+                reloaded.takeLoadReport().getDescriptions());
+
+        Storage reloadedAgain = new Storage(savePath.toString());
+        reloadedAgain.loadTasks();
+        assertTrue(reloadedAgain.takeLoadReport().hasProblems(), "A file that failed its check should not be trusted");
+    }
+
+    @Test
+    public void testTruncatedSnapshotReported() throws IOException {
+        // test: a snapshot cut short before its footer is reported, and the tasks before the cut still load
+        Path savePath = tempDir.resolve("savefile.txt");
+        Storage storage = new Storage(savePath.toString(), Durability.STRICT);
+        storage.initializeFile();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= 2000; i++) {
+            tasks.add(new Todo("task " + i));
+        }
+        storage.saveTasks(tasks);
+
+        List<String> lines = Files.readAllLines(savePath);
+        Files.write(savePath, lines.subList(0, 1500));
+
+        Storage reloaded = new Storage(savePath.toString());
+        assertEquals(1498, reloaded.loadTasks().size(), "Tasks before the cut should be loaded");
+        assertEquals(List.of("savefile.txt ends early, so tasks after its last checksum may be missing"),
+                reloaded.takeLoadReport().getDescriptions());
+    }
+}
@@ -1,8 +1,13 @@
 package performative.tasks;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -72,8 +77,289 @@ public class TaskListTest {
                     "Second task should match the second task in existing list");
 
         // verify getTasks() returns the correct list
-        ArrayList<Task> retrievedTasks = taskListWithExistingTasks.getTasks();
+        List<Task> retrievedTasks = taskListWithExistingTasks.getTasks();
         assertEquals(existingTasks, retrievedTasks,
                     "Retrieved tasks should match the original existing tasks");
     }
+
+    @Test
+    public void testTaskIdsStableAcrossDeletion() {
+        // test: task IDs are assigned once and keep addressing the same task after deletions
+        taskList.addTask(sampleTask1);
+        taskList.addTask(sampleTask2);
+        taskList.addTask(sampleTask3);
+        int thirdId = sampleTask3.getId();
+
+        taskList.deleteTask(1);
+        assertEquals(sampleTask3, taskList.getTaskById(thirdId), "ID should still address the same task");
+
+        Task deletedTask = taskList.deleteTaskById(sampleTask2.getId());
+        assertEquals(sampleTask2, deletedTask, "Deleting by ID should remove the matching task");
+        assertEquals(1, taskList.getTaskCount(), "Task count should be 1 after two deletions");
+        assertNull(taskList.getTaskById(sampleTask2.getId()), "Deleted task should no longer be indexed");
+
+        Task newTask = new Todo("meditate");
+        taskList.addTask(newTask);
+        assertEquals(thirdId + 1, newTask.getId(), "New tasks should never reuse an earlier ID");
+    }
+
+    @Test
+    public void testFindTasksUsesUpdatedIndex() {
+        // test: find matches substrings case-insensitively and reflects additions and deletions
+        taskList.addTask(sampleTask1);
+        taskList.addTask(sampleTask2);
+        taskList.addTask(new Todo("return Book to library"));
+
+        ArrayList<Task> matches = taskList.findTasks("BOOK");
+        assertEquals(2, matches.size(), "Both tasks mentioning a book should match");
+        assertEquals(sampleTask2, matches.get(0), "Matches should be returned in list order");
+
+        taskList.deleteTask(2);
+        assertEquals(1, taskList.findTasks("book").size(), "Deleted task should no longer match");
+        assertEquals(1, taskList.findTasks("y groc").size(), "Keywords spanning tokens should match");
+        assertEquals(0, taskList.findTasks("xyz").size(), "Unknown keyword should not match");
+    }
+
+    @Test
+    public void testFindTasksMatchesInsideTokens() {
+        // test: find matches keywords at the start or inside words, before and after the trigram index is built
+        Task notebook = new Todo("buy a Notebook");
+        Task books = new Todo("return books");
+        Task booking = new Todo("hotel booking");
+        Task bolt = new Todo("tighten bolt");
+        taskList.addTask(notebook);
+        taskList.addTask(books);
+        taskList.addTask(booking);
+        taskList.addTask(bolt);
+
+        assertEquals(List.of(notebook, books, booking), taskList.findTasks("book"),
+                "Words starting with or containing the keyword should match");
+        assertEquals(List.of(notebook, books, booking, bolt), taskList.findTasks("o"),
+                "Keywords shorter than a trigram should match anywhere in a word");
+        taskList.buildIndexes();
+        assertEquals(List.of(notebook, books, booking), taskList.findTasks("BOOK"),
+                "The trigram index should find the same tasks");
+        assertEquals(List.of(notebook), taskList.findTasks("tebo"), "Keywords inside a word should match");
+        taskList.addTask(new Todo("look okay"));
+        assertEquals(List.of(), taskList.findTasks("ooka"), "Trigrams from different words should not match");
+    }
+
+    @Test
+    public void testGetTaskPage() {
+        // test: pages start at the given task number and stop at the end of the list
+        taskList.addTask(sampleTask1);
+        taskList.addTask(sampleTask2);
+        taskList.addTask(sampleTask3);
+
+        List<Task> page = taskList.getTaskPage(2, 5);
+        assertEquals(2, page.size(), "Page should stop at the last task");
+        assertEquals(sampleTask2, page.get(0), "Page should start at the given task number");
+        assertEquals(1, taskList.getTaskPage(1, 1).size(), "Page should hold at most the limit");
+        assertThrows(IndexOutOfBoundsException.class, () -> taskList.getTaskPage(4, 1),
+                "Page starting past the last task should be rejected");
+    }
+
+    @Test
+    public void testDeleteTasksInOnePass() {
+        // test: deleting several task numbers removes exactly those tasks and keeps the rest in order
+        for (int i = 1; i <= 6; i++) {
+            taskList.addTask(new Todo("task " + i));
+        }
+
+        List<Task> deletedTasks = taskList.deleteTasks(new int[] {1, 3, 4, 6});
+        assertEquals(4, deletedTasks.size(), "Every given task should be deleted");
+        assertEquals("task 3", deletedTasks.get(1).getDescription(), "Deleted tasks should be in task number order");
+        assertEquals(2, taskList.getTaskCount(), "Task count should drop by the number deleted");
+        assertEquals("task 2", taskList.getTask(1).getDescription(), "Remaining tasks should keep their order");
+        assertEquals("task 5", taskList.getTask(2).getDescription(), "Remaining tasks should keep their order");
+        assertNull(taskList.getTaskById(deletedTasks.get(0).getId()), "Deleted tasks should no longer be indexed");
+        assertEquals(0, taskList.findTasks("task 3").size(), "Deleted tasks should no longer match");
+    }
+
+    @Test
+    public void testSnapshotUnaffectedByLaterChanges() {
+        // test: a snapshot keeps the tasks it was taken with and cannot be changed by its reader
+        taskList.addTask(sampleTask1);
+        taskList.addTask(sampleTask2);
+
+        List<Task> snapshot = taskList.getTasks();
+        taskList.deleteTask(1);
+        taskList.addTask(sampleTask3);
+
+        assertEquals(List.of(sampleTask1, sampleTask2), snapshot, "Snapshot should not see later changes");
+        assertEquals(List.of(sampleTask2, sampleTask3), taskList.getTasks(), "New snapshot should see every change");
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(sampleTask3),
+                "Snapshot should be read-only");
+    }
+
+    @Test
+    public void testChangesAcrossManyChunks() {
+        // test: adding and deleting across many chunks keeps the same order as a plain list
+        List<Task> expected = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            Task task = new Todo("task " + i);
+            expected.add(task);
+            taskList.addTask(task);
+        }
+        int[] everyThird = new int[1000];
+        for (int i = 0; i < everyThird.length; i++) {
+            everyThird[i] = 3 * i + 1;
+        }
+        List<Task> snapshot = taskList.getTasks();
+        taskList.deleteTasks(everyThird);
+        for (int i = everyThird.length - 1; i >= 0; i--) {
+            expected.remove(everyThird[i] - 1);
+        }
+        while (expected.size() > 100) {
+            Task task = expected.remove(expected.size() / 3);
+            assertEquals(task, taskList.deleteTaskById(task.getId()), "Deleting by ID should remove the given task");
+        }
+
+        assertEquals(expected, taskList.getTasks(), "Tasks should keep their order through every change");
+        assertEquals(expected.get(57), taskList.getTask(58), "Task numbers should follow the remaining tasks");
+        assertEquals(3000, snapshot.size(), "Earlier snapshots should not see the deletions");
+    }
+
+    @Test
+    public void testDeleteByIdFromLoadedTasks() {
+        // test: deleting loaded tasks by ID finds each one, including after nearby chunks were merged
+        List<Task> expected = new ArrayList<>();
+        for (int i = 1; i <= 2000; i++) {
+            Task task = new Todo("loaded " + i);
+            task.setId(i);
+            expected.add(task);
+        }
+        TaskList loadedTaskList = new TaskList(new ArrayList<>(expected));
+
+        // Leaves the first chunks small enough to be merged, then deletes from the merged chunks
+        for (int id = 1; id <= 1500; id++) {
+            if (id % 5 != 0 || id % 10 == 0) {
+                Task task = loadedTaskList.deleteTaskById(id);
+                assertEquals(id, task.getId(), "Deleting by ID should remove the task with that ID");
+                expected.remove(task);
+            }
+        }
+        assertNull(loadedTaskList.deleteTaskById(10), "A deleted ID should not be found again");
+        assertEquals(expected, loadedTaskList.getTasks(), "Remaining tasks should keep their order");
+    }
+
+    @Test
+    public void testLoadedTasksUsableBeforeIndexesBuilt() throws InterruptedException {
+        // test: a loaded list answers lookups by scanning until its indexes are built, and keeps changes made meanwhile
+        List<Task> loadedTasks = new ArrayList<>();
+        for (int i = 1; i <= 20_000; i++) {
+            Task task = new Todo("loaded " + i);
+            task.setId(i);
+            loadedTasks.add(task);
+        }
+        Task dueMonday = new Deadline("essay", LocalDateTime.of(2025, 3, 17, 23, 59));
+        dueMonday.setId(20_001);
+        loadedTasks.add(dueMonday);
+        Task withoutId = new Todo("legacy chore");
+        loadedTasks.add(withoutId);
+        TaskList loadedTaskList = new TaskList(loadedTasks);
+
+        assertEquals(loadedTasks.get(41), loadedTaskList.getTaskById(42), "Lookups by ID should scan until indexed");
+        assertEquals(List.of(loadedTasks.get(12_344)), loadedTaskList.findTasks("loaded 12345"),
+                "Find should scan until indexed");
+        assertEquals(List.of(dueMonday), loadedTaskList.findTasksBetween(LocalDateTime.of(2025, 3, 17, 0, 0),
+                LocalDateTime.of(2025, 3, 18, 0, 0)), "Time queries should scan until indexed");
+        Task added = new Todo("added while loading");
+        loadedTaskList.addTask(added);
+        assertEquals(20_002, added.getId(), "Added tasks should get an ID after the highest loaded one");
+
+        Thread builder = new Thread(loadedTaskList::buildIndexes);
+        builder.start();
+        assertEquals(loadedTasks.get(99), loadedTaskList.deleteTaskById(100),
+                "Deleting by ID should work while indexing");
+        Task addedDuringBuild = new Todo("added while indexing");
+        loadedTaskList.addTask(addedDuringBuild);
+        builder.join();
+
+        assertNull(loadedTaskList.getTaskById(100), "Tasks deleted while indexing should not be indexed");
+        assertEquals(addedDuringBuild, loadedTaskList.getTaskById(addedDuringBuild.getId()),
+                "Tasks added while indexing should be indexed");
+        assertTrue(withoutId.getId() > 20_002, "Loaded tasks without an ID should get a new one once indexed");
+        assertEquals(withoutId, loadedTaskList.deleteTaskById(withoutId.getId()), "Newly given IDs should be indexed");
+        assertEquals(List.of(addedDuringBuild), loadedTaskList.findTasks("while indexing"),
+                "The keyword index should include tasks added while indexing");
+        assertEquals(List.of(dueMonday), loadedTaskList.findTasksBetween(LocalDateTime.of(2025, 3, 17, 0, 0),
+                LocalDateTime.of(2025, 3, 18, 0, 0)), "The time index should include loaded tasks");
+    }
+
+    @Test
+    public void testFindTasksBetween() {
+        // test: time queries return deadlines due and events running in the range, in time order
+        Task dueMonday = new Deadline("essay", LocalDateTime.of(2025, 3, 17, 23, 59));
+        Task longRetreat = new Event("retreat", LocalDateTime.of(2025, 3, 1, 9, 0),
+                LocalDateTime.of(2025, 3, 20, 17, 0));
+        Task brunch = new Event("brunch", LocalDateTime.of(2025, 3, 17, 11, 0), LocalDateTime.of(2025, 3, 17, 13, 0));
+        Task pastDue = new Deadline("tote bag", LocalDateTime.of(2025, 3, 2, 10, 0));
+        taskList.addTask(dueMonday);
+        taskList.addTask(longRetreat);
+        taskList.addTask(brunch);
+        taskList.addTask(pastDue);
+        taskList.addTask(sampleTask1);
+
+        List<Task> monday = taskList.findTasksBetween(LocalDateTime.of(2025, 3, 17, 0, 0),
+                LocalDateTime.of(2025, 3, 18, 0, 0));
+        assertEquals(List.of(longRetreat, brunch, dueMonday), monday,
+                "Events that started earlier but are still running should be included");
+        assertEquals(List.of(pastDue), taskList.findDeadlinesBefore(LocalDateTime.of(2025, 3, 12, 0, 0)));
+
+        taskList.deleteTask(2);
+        assertEquals(List.of(brunch, dueMonday), taskList.findTasksBetween(LocalDateTime.of(2025, 3, 17, 0, 0),
+                LocalDateTime.of(2025, 3, 18, 0, 0)), "Deleted tasks should no longer be found");
+    }
+
+    @Test
+    public void testSearchTasks() {
+        // test: search falls back to find until indexed, then tolerates typos and ranks closer matches first
+        Task readChapter = new Todo("read chapter 4");
+        Task chapterSummary = new Todo("chapter summary notes");
+        Task chapel = new Todo("chapel visit");
+        taskList.addTask(readChapter);
+        taskList.addTask(chapterSummary);
+        taskList.addTask(new Todo("cook dinner"));
+        taskList.addTask(chapel);
+
+        assertEquals(List.of(readChapter, chapterSummary), taskList.searchTasks("chapter", 10),
+                "Before the index is built, search should fall back to find");
+        taskList.buildIndexes();
+        assertEquals(List.of(readChapter, chapterSummary, chapel), taskList.searchTasks("chaptr", 10),
+                "Tasks sharing more of the query should rank first, then shorter descriptions");
+        assertEquals(List.of(readChapter, chapterSummary), taskList.searchTasks("chaptr", 2),
+                "Only the best matches up to the limit should be returned");
+
+        Task newChapter = new Todo("chapter");
+        taskList.addTask(newChapter);
+        taskList.deleteTask(1);
+        assertEquals(List.of(newChapter, chapterSummary, chapel), taskList.searchTasks("chaptr", 10),
+                "Tasks added or deleted after the index is built should be reflected");
+        assertEquals(List.of(), taskList.searchTasks("matcha", 10), "Unrelated queries should find nothing");
+    }
+
+    @Test
+    public void testChangesDuringTrigramIndexBuild() throws InterruptedException {
+        // test: tasks added and deleted while the trigram index is being built are reflected once it is published
+        for (int i = 0; i < 50_000; i++) {
+            taskList.addTask(new Todo("errand " + i));
+        }
+        Thread builder = new Thread(taskList::buildIndexes);
+        builder.start();
+        List<Task> zebras = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Task zebra = new Todo("zebra " + i);
+            taskList.addTask(zebra);
+            zebras.add(zebra);
+        }
+        for (int i = 0; i < 100; i++) {
+            taskList.deleteTaskById(zebras.remove(zebras.size() - 1).getId());
+        }
+        builder.join();
+
+        List<Task> found = new ArrayList<>(taskList.searchTasks("zebra", 1000));
+        found.sort((first, second) -> Integer.compare(first.getId(), second.getId()));
+        assertEquals(zebras, found, "Only the tasks still in the list should be found");
+    }
 }
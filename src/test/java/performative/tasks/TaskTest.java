@@ -0,0 +1,29 @@
+package performative.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+public class TaskTest {
+    @Test
+    public void testRenderedStringsFollowMarking() {
+        // test: cached display and save strings are reused until the task is marked or given an ID
+        Deadline deadline = new Deadline("submit report", LocalDateTime.of(2025, 3, 14, 18, 0));
+        String display = deadline.toString();
+        assertEquals("[D][ ] submit report (by: 14 Mar 2025 1800)", display);
+        assertSame(display, deadline.toString(), "Unchanged task should reuse its display string");
+
+        deadline.setId(7);
+        assertEquals("Deadline; Incomplete; submit report; 2025-03-14 1800; 7", deadline.toSaveFormat());
+
+        deadline.markDone();
+        assertEquals("[D][X] submit report (by: 14 Mar 2025 1800)", deadline.toString());
+        assertEquals("Deadline; Complete; submit report; 2025-03-14 1800; 7", deadline.toSaveFormat());
+
+        deadline.markUndone();
+        assertEquals("[D][ ] submit report (by: 14 Mar 2025 1800)", deadline.toString());
+    }
+}
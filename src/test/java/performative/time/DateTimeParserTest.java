@@ -0,0 +1,76 @@
+package performative.time;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class DateTimeParserTest {
+    private static final LocalTime END_OF_DAY = LocalTime.of(23, 59);
+
+    private Clock originalClock;
+
+    @BeforeEach
+    public void setUp() {
+        originalClock = TaskClock.getClock();
+        // Wednesday 12 March 2025, 10:00
+        TaskClock.setClock(Clock.fixed(LocalDateTime.of(2025, 3, 12, 10, 0).toInstant(ZoneOffset.UTC),
+                ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        TaskClock.setClock(originalClock);
+    }
+
+    @Test
+    public void testParseSaveFormat() {
+        // test: save-format strings parse to the exact date and time, matching the formatter for late days
+        assertEquals(LocalDateTime.of(2025, 3, 14, 23, 59), DateTimeParser.parse("2025-03-14 2359", END_OF_DAY));
+        assertEquals(LocalDateTime.of(2024, 2, 29, 9, 5), DateTimeParser.parseSaveFormat("2024-02-29 0905"));
+        assertThrows(DateTimeParseException.class, () -> DateTimeParser.parseSaveFormat("2025-13-01 0900"),
+                "Invalid month should be rejected");
+        assertThrows(DateTimeParseException.class, () -> DateTimeParser.parseSaveFormat("2025-03-14 2460"),
+                "Invalid time should be rejected");
+    }
+
+    @Test
+    public void testParseDayOfWeek() {
+        // test: days of week resolve to their next occurrence using the task clock
+        assertEquals(LocalDateTime.of(2025, 3, 14, 23, 59), DateTimeParser.parse("Friday", END_OF_DAY));
+        assertEquals(LocalDateTime.of(2025, 3, 19, 19, 0), DateTimeParser.parse("wed 1900", END_OF_DAY),
+                "Today's day of week should mean next week");
+        assertThrows(DateTimeParseException.class, () -> DateTimeParser.parse("Fri 2500", END_OF_DAY),
+                "Invalid time after a day should be rejected");
+        assertThrows(DateTimeParseException.class, () -> DateTimeParser.parse("someday", END_OF_DAY),
+                "Unknown day should be rejected");
+    }
+
+    @Test
+    public void testParseDate() {
+        // test: query dates accept relative words, days of week and ISO dates
+        assertEquals(LocalDate.of(2025, 3, 12), DateTimeParser.parseDate("today"));
+        assertEquals(LocalDate.of(2025, 3, 13), DateTimeParser.parseDate("Tomorrow"));
+        assertEquals(LocalDate.of(2025, 3, 17), DateTimeParser.parseDate("mon"));
+        assertEquals(LocalDate.of(2025, 4, 1), DateTimeParser.parseDate("2025-04-01"));
+        assertThrows(DateTimeParseException.class, () -> DateTimeParser.parseDate("2025-04-01 0900"),
+                "Dates with times should be rejected");
+    }
+
+    @Test
+    public void testFormatForSaveRoundTrip() {
+        // test: formatting for save produces the save format that parses back to the same date and time
+        LocalDateTime dateTime = LocalDateTime.of(2025, 1, 2, 3, 4);
+        assertEquals("2025-01-02 0304", DateTimeParser.formatForSave(dateTime));
+        assertEquals(dateTime, DateTimeParser.parseSaveFormat(DateTimeParser.formatForSave(dateTime)));
+    }
+}
@@ -2,6 +2,7 @@ package performative.ui;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
 import java.util.ArrayList;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -151,6 +152,43 @@ public class UiTest {
                   "Should contain supportive message");
     }
 
+    @Test
+    public void testListTaskPage() {
+        // test: a list page numbers tasks from its first task number and says how to see the rest
+        ArrayList<Task> page = new ArrayList<>();
+        page.add(new Todo("fourth task"));
+        page.add(new Todo("fifth task"));
+
+        String result = ui.getListTaskPageMessage(page, 4, 10);
+
+        assertTrue(result.contains("4. " + page.get(0).toString()),
+                  "Should number the first task on the page from the first task number");
+        assertTrue(result.contains("5. " + page.get(1).toString()),
+                  "Should number the second task on the page");
+        assertTrue(result.contains("Showing tasks 4-5 of 10"),
+                  "Should say which tasks are shown");
+        assertTrue(result.contains("list --from 6 --limit 2"),
+                  "Should say how to list the next tasks");
+    }
+
+    @Test
+    public void testListTasksShowsIdsOnlyWhenAsked() throws IOException {
+        // test: task lines only end with the task's ID when IDs are asked for
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("first task"));
+        tasks.get(0).setId(7);
+
+        StringBuilder withoutIds = new StringBuilder();
+        ui.writeListTasksMessage(tasks, false, withoutIds);
+        StringBuilder withIds = new StringBuilder();
+        ui.writeListTasksMessage(tasks, true, withIds);
+
+        assertTrue(withoutIds.toString().contains("1. " + tasks.get(0).toString() + "\n"),
+                  "Should not follow the task with its ID by default");
+        assertTrue(withIds.toString().contains("1. " + tasks.get(0).toString() + " (#7)"),
+                  "Should follow the task with its ID when asked");
+    }
+
     @Test
     public void testSearchResultsWithMatches() {
         // test: search results with matching tasks returns performative personality results